@@ -0,0 +1,69 @@
+package com.globaltrend.api.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache Invalidation Bus
+ * Broadcasts L1 invalidations to every instance over the shared store's
+ * pub/sub channel. Messages are "nodeId|op|cacheName|key"; an instance
+ * ignores its own messages since it has already updated its L1.
+ */
+@Slf4j
+public class CacheInvalidationBus {
+
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final SharedCacheStore sharedStore;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(SharedCacheStore sharedStore, String channel) {
+        this.sharedStore = sharedStore;
+        this.channel = channel;
+        sharedStore.subscribe(channel, this::onMessage);
+    }
+
+    void register(TwoTierCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(EVICT, cacheName, key);
+    }
+
+    void publishClear(String cacheName) {
+        publish(CLEAR, cacheName, "");
+    }
+
+    private void publish(String op, String cacheName, String key) {
+        try {
+            sharedStore.publish(channel, nodeId + "|" + op + "|" + cacheName + "|" + key);
+        } catch (RuntimeException e) {
+            log.warn("Cache invalidation publish failed for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+
+        if (CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[3]);
+        }
+    }
+}
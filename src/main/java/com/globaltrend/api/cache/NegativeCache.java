@@ -0,0 +1,116 @@
+package com.globaltrend.api.cache;
+
+import com.globaltrend.api.exception.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Negative Cache
+ * Remembers upstream "not found" answers for a short time, so repeated
+ * lookups of mistyped or scraped names are answered without an upstream
+ * call. Bounded in size (least recently used entries go first) and kept
+ * apart from the regular caches, which only ever hold found resources.
+ */
+@Component
+public class NegativeCache {
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public NegativeCache(
+            @Value("${api.cache.negative.ttl:60s}") Duration ttl,
+            @Value("${api.cache.negative.max-size:10000}") int maxSize) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > NegativeCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Throw the remembered not-found answer for a key, if there is one
+     * 
+     * @param cacheName Cache the positive result would live in
+     * @param key       Cache key of the lookup
+     */
+    public void throwIfNotFound(String cacheName, Object key) {
+        String negativeKey = cacheName + "::" + key;
+        String message;
+
+        synchronized (entries) {
+            Entry entry = entries.get(negativeKey);
+            if (entry == null) {
+                misses.increment();
+                return;
+            }
+            if (System.nanoTime() - entry.storedAt >= ttlNanos) {
+                entries.remove(negativeKey);
+                misses.increment();
+                return;
+            }
+            message = entry.message;
+        }
+
+        hits.increment();
+        throw new ResourceNotFoundException(message);
+    }
+
+    /**
+     * Whether a not-found answer is remembered for a key, without counting
+     * a lookup
+     */
+    public boolean contains(String cacheName, Object key) {
+        synchronized (entries) {
+            Entry entry = entries.get(cacheName + "::" + key);
+            return entry != null && System.nanoTime() - entry.storedAt < ttlNanos;
+        }
+    }
+
+    /**
+     * Remember that a key was not found upstream
+     */
+    public void put(String cacheName, Object key, ResourceNotFoundException notFound) {
+        Entry entry = new Entry(notFound.getMessage(), System.nanoTime());
+        synchronized (entries) {
+            entries.put(cacheName + "::" + key, entry);
+        }
+        stores.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("stores", stores.sum());
+        stats.put("evictions", evictions.sum());
+        return stats;
+    }
+
+    private record Entry(String message, long storedAt) {
+    }
+}
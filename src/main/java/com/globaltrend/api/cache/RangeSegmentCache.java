@@ -0,0 +1,277 @@
+package com.globaltrend.api.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Range Segment Cache
+ * Caches an id-ordered upstream listing ("items with id > since") as a set
+ * of covered id ranges instead of one entry per (since, perPage) page. Any
+ * window is served by stitching the covered ranges together, and only the
+ * gaps between them are fetched upstream. Each item is held once no matter
+ * how many overlapping windows it appears in.
+ * 
+ * A segment (start, end] means every upstream item with start &lt; id &lt;= end
+ * is present; a short upstream page marks the end of the listing. Segments
+ * expire after a TTL and are swept on the next store; the oldest are dropped
+ * first when the item bound is exceeded.
+ */
+public class RangeSegmentCache<T> {
+
+    /**
+     * Upstream call returning up to {@code count} items with id &gt; {@code since}, ascending
+     */
+    @FunctionalInterface
+    public interface RangeFetcher<T> {
+        List<T> fetch(long since, int count);
+    }
+
+    /** Segment end meaning "nothing beyond this point upstream (as of fetch time)" */
+    private static final long END_OF_LISTING = Long.MAX_VALUE;
+
+    private final ToLongFunction<T> idExtractor;
+    private final long ttlNanos;
+    private final int maxItems;
+    private final int maxFetchSize;
+
+    private final TreeMap<Long, T> items = new TreeMap<>();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    private final LongAdder windows = new LongAdder();
+    private final LongAdder windowsFromCache = new LongAdder();
+    private final LongAdder upstreamFetches = new LongAdder();
+    private final LongAdder upstreamItems = new LongAdder();
+
+    public RangeSegmentCache(ToLongFunction<T> idExtractor, long ttlNanos, int maxItems, int maxFetchSize) {
+        this.idExtractor = idExtractor;
+        this.ttlNanos = ttlNanos;
+        this.maxItems = maxItems;
+        this.maxFetchSize = maxFetchSize;
+    }
+
+    /**
+     * Get the first {@code count} items with id &gt; {@code since}
+     */
+    public List<T> getWindow(long since, int count, RangeFetcher<T> fetcher) {
+        if (count <= 0) {
+            return List.of();
+        }
+        windows.increment();
+
+        List<T> window = new ArrayList<>(count);
+        long cursor = since;
+        boolean fetched = false;
+
+        while (window.size() < count) {
+            Long coveredEnd = readCovered(cursor, count, window);
+            if (coveredEnd != null) {
+                if (coveredEnd == END_OF_LISTING) {
+                    break;
+                }
+                cursor = coveredEnd;
+                continue;
+            }
+
+            // Ids are distinct, so a gap of n ids before the next segment holds at most n items
+            int requested = Math.min(count - window.size(), maxFetchSize);
+            Long nextStart = nextLiveSegmentStart(cursor);
+            if (nextStart != null && nextStart - cursor < requested) {
+                requested = (int) (nextStart - cursor);
+            }
+            List<T> page = fetchAndStore(cursor, requested, fetcher);
+            fetched = true;
+
+            window.addAll(page);
+            if (page.size() < requested) {
+                break; // end of the upstream listing
+            }
+            cursor = idExtractor.applyAsLong(page.get(page.size() - 1));
+        }
+
+        if (!fetched) {
+            windowsFromCache.increment();
+        }
+        return window;
+    }
+
+    /**
+     * Re-fetch a window from upstream, replacing whatever was cached for its range
+     */
+    public List<T> refresh(long since, int count, RangeFetcher<T> fetcher) {
+        if (count <= 0) {
+            return List.of();
+        }
+        return fetchAndStore(since, Math.min(count, maxFetchSize), fetcher);
+    }
+
+    /**
+     * Whether a window could be served without going upstream. Read-only:
+     * not counted in the stats and does not evict expired segments.
+     */
+    public synchronized boolean covers(long since, int count) {
+        long cursor = since;
+        int remaining = count;
+        long now = System.nanoTime();
+
+        while (remaining > 0) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(cursor);
+            if (entry == null || entry.getValue().end <= cursor) {
+                return false;
+            }
+            Segment segment = entry.getValue();
+            if (now - segment.fetchedAt >= ttlNanos) {
+                return false;
+            }
+            if (segment.end == END_OF_LISTING) {
+                return true;
+            }
+            for (Long ignored : items.subMap(cursor, false, segment.end, true).keySet()) {
+                if (--remaining == 0) {
+                    return true;
+                }
+            }
+            cursor = segment.end;
+        }
+        return true;
+    }
+
+    public synchronized void clear() {
+        items.clear();
+        segments.clear();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("items", items.size());
+            stats.put("segments", segments.size());
+        }
+        stats.put("maxItems", maxItems);
+        stats.put("windows", windows.sum());
+        stats.put("windowsFromCache", windowsFromCache.sum());
+        stats.put("upstreamFetches", upstreamFetches.sum());
+        stats.put("upstreamItems", upstreamItems.sum());
+        return stats;
+    }
+
+    /**
+     * Append cached items after {@code cursor} to the window, if a live
+     * segment covers the cursor
+     * 
+     * @return The new cursor, or null if the cursor is not covered
+     */
+    private synchronized Long readCovered(long cursor, int count, List<T> window) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(cursor);
+        if (entry == null || entry.getValue().end <= cursor) {
+            return null;
+        }
+
+        Segment segment = entry.getValue();
+        if (System.nanoTime() - segment.fetchedAt >= ttlNanos) {
+            removeSegment(segment);
+            return null;
+        }
+
+        for (T item : items.subMap(cursor, false, segment.end, true).values()) {
+            window.add(item);
+            if (window.size() == count) {
+                return idExtractor.applyAsLong(item);
+            }
+        }
+        return segment.end;
+    }
+
+    /**
+     * Start of the first live segment after an uncovered cursor
+     */
+    private synchronized Long nextLiveSegmentStart(long cursor) {
+        long now = System.nanoTime();
+        for (Segment segment : segments.tailMap(cursor, false).values()) {
+            if (now - segment.fetchedAt < ttlNanos) {
+                return segment.start;
+            }
+        }
+        return null;
+    }
+
+    private List<T> fetchAndStore(long since, int count, RangeFetcher<T> fetcher) {
+        List<T> page = fetcher.fetch(since, count);
+        upstreamFetches.increment();
+        upstreamItems.add(page.size());
+
+        store(since, page, page.size() < count);
+        return page;
+    }
+
+    private synchronized void store(long start, List<T> page, boolean endOfListing) {
+        long end = endOfListing ? END_OF_LISTING : idExtractor.applyAsLong(page.get(page.size() - 1));
+        long now = System.nanoTime();
+
+        sweepExpired(now);
+        items.subMap(start, false, end, true).clear();
+        for (T item : page) {
+            items.put(idExtractor.applyAsLong(item), item);
+        }
+
+        // Coalesce with live segments that overlap or touch (start, end]
+        long mergedStart = start;
+        long mergedEnd = end;
+        long mergedFetchedAt = now;
+
+        Long from = segments.floorKey(start);
+        Iterator<Segment> it = segments.tailMap(from != null ? from : start, true).values().iterator();
+        while (it.hasNext()) {
+            Segment segment = it.next();
+            if (segment.start > end) {
+                break;
+            }
+            if (segment.end < start) {
+                continue;
+            }
+            it.remove();
+            mergedStart = Math.min(mergedStart, segment.start);
+            mergedEnd = Math.max(mergedEnd, segment.end);
+            mergedFetchedAt = Math.min(mergedFetchedAt, segment.fetchedAt);
+        }
+        segments.put(mergedStart, new Segment(mergedStart, mergedEnd, mergedFetchedAt));
+
+        while (items.size() > maxItems && !segments.isEmpty()) {
+            Segment oldest = null;
+            for (Segment segment : segments.values()) {
+                if (oldest == null || segment.fetchedAt < oldest.fetchedAt) {
+                    oldest = segment;
+                }
+            }
+            removeSegment(oldest);
+        }
+    }
+
+    /**
+     * Drop every expired segment and its items, so ranges nobody reads again
+     * do not hold memory until the item bound forces them out
+     */
+    private void sweepExpired(long now) {
+        Iterator<Segment> it = segments.values().iterator();
+        while (it.hasNext()) {
+            Segment segment = it.next();
+            if (now - segment.fetchedAt >= ttlNanos) {
+                it.remove();
+                items.subMap(segment.start, false, segment.end, true).clear();
+            }
+        }
+    }
+
+    private void removeSegment(Segment segment) {
+        segments.remove(segment.start);
+        items.subMap(segment.start, false, segment.end, true).clear();
+    }
+
+    private record Segment(long start, long end, long fetchedAt) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.globaltrend.api.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Shared (L2) Cache Store
+ * Minimal Redis-shaped contract for the cache tier shared by all instances:
+ * binary GET/SET-with-TTL/DEL on string keys plus PUBLISH/SUBSCRIBE on
+ * string channels. Implementations must be thread-safe.
+ */
+public interface SharedCacheStore {
+
+    /**
+     * @return The stored value, or null if absent or expired
+     */
+    byte[] get(String key);
+
+    void set(String key, byte[] value, Duration ttl);
+
+    void delete(String key);
+
+    /**
+     * Delete every key starting with the given prefix
+     */
+    void deleteByPrefix(String prefix);
+
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
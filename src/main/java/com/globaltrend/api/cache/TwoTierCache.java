@@ -0,0 +1,236 @@
+package com.globaltrend.api.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two-Tier Cache
+ * A local in-memory (L1) cache in front of a store shared by all instances
+ * (L2). Reads fall through L1 to L2 before reaching the upstream API;
+ * writes go to both tiers and tell the other instances to drop their now
+ * stale L1 copy. Any L2 failure degrades to L1-only instead of failing the
+ * request.
+ * 
+ * L1 is bounded in size and expires entries after the L2 TTL, so a node
+ * that missed an invalidation serves a stale copy for at most one TTL and
+ * a burst of distinct keys cannot grow the heap without limit.
+ * 
+ * L2 values are stored as JSON of the cache's declared value type, so
+ * instances running different builds can still read each other's entries
+ * and nothing read from the shared store is ever instantiated by class name.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final JavaType valueType;
+    private final ObjectMapper objectMapper;
+    private final CaffeineCache local;
+    private final Map<String, Object> loadLocks = new ConcurrentHashMap<>();
+    private final SharedCacheStore sharedStore;
+    private final Duration ttl;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+
+    public TwoTierCache(String name, JavaType valueType, ObjectMapper objectMapper,
+                        SharedCacheStore sharedStore, Duration ttl, long localMaxSize,
+                        CacheInvalidationBus invalidationBus) {
+        super(true);
+        this.name = name;
+        this.valueType = valueType;
+        this.objectMapper = objectMapper;
+        this.local = new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(ttl)
+                .build());
+        this.sharedStore = sharedStore;
+        this.ttl = ttl;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = key.toString();
+
+        ValueWrapper cached = local.get(localKey);
+        if (cached != null) {
+            localHits.increment();
+            return toStoreValue(cached.get());
+        }
+
+        Object shared = readShared(localKey);
+        if (shared != null) {
+            sharedHits.increment();
+            local.put(localKey, shared);
+            return toStoreValue(shared);
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Load-once semantics for {@code @Cacheable(sync = true)}: concurrent
+     * misses on the same key wait for one loader, other keys are unaffected
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        String localKey = key.toString();
+        Object lock = loadLocks.computeIfAbsent(localKey, k -> new Object());
+        synchronized (lock) {
+            try {
+                // Another thread may have loaded it while this one waited
+                ValueWrapper loaded = get(key);
+                if (loaded != null) {
+                    return (T) loaded.get();
+                }
+
+                T value = valueLoader.call();
+                put(key, value);
+                return value;
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            } finally {
+                loadLocks.remove(localKey, lock);
+            }
+        }
+    }
+
+    /**
+     * Whether the key is in the local tier, without counting a lookup
+     */
+    public boolean isCachedLocally(Object key) {
+        return local.get(key.toString()) != null;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = key.toString();
+        local.put(localKey, value);
+        puts.increment();
+
+        if (value != null) {
+            writeShared(localKey, value);
+        }
+        invalidationBus.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = key.toString();
+        local.evict(localKey);
+
+        try {
+            sharedStore.delete(sharedKey(localKey));
+        } catch (RuntimeException e) {
+            log.warn("Shared cache delete failed for {}: {}", sharedKey(localKey), e.getMessage());
+        }
+        invalidationBus.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+
+        try {
+            sharedStore.deleteByPrefix(name + "::");
+        } catch (RuntimeException e) {
+            log.warn("Shared cache clear failed for {}: {}", name, e.getMessage());
+        }
+        invalidationBus.publishClear(name);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        // Size-based eviction runs asynchronously; settle it so the size is not overstated
+        local.getNativeCache().cleanUp();
+        stats.put("localSize", local.getNativeCache().estimatedSize());
+        stats.put("localHits", localHits.sum());
+        stats.put("sharedHits", sharedHits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("puts", puts.sum());
+        return stats;
+    }
+
+    /**
+     * Drop an entry from this instance's L1 only, in response to an
+     * invalidation published by another instance
+     */
+    void evictLocal(String key) {
+        local.evict(key);
+    }
+
+    void clearLocal() {
+        local.clear();
+    }
+
+    private Object readShared(String key) {
+        try {
+            byte[] bytes = sharedStore.get(sharedKey(key));
+            return bytes != null ? deserialize(bytes) : null;
+        } catch (RuntimeException e) {
+            log.warn("Shared cache read failed for {}: {}", sharedKey(key), e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeShared(String key, Object value) {
+        try {
+            sharedStore.set(sharedKey(key), serialize(value), ttl);
+        } catch (RuntimeException e) {
+            log.warn("Shared cache write failed for {}: {}", sharedKey(key), e.getMessage());
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writerFor(valueType).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to serialize cache value", e);
+        }
+    }
+
+    private Object deserialize(byte[] bytes) {
+        try {
+            return objectMapper.readValue(bytes, valueType);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to deserialize cache value", e);
+        }
+    }
+
+    private String sharedKey(String key) {
+        return name + "::" + key;
+    }
+}
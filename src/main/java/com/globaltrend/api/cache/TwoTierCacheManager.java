@@ -0,0 +1,51 @@
+package com.globaltrend.api.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Two-Tier Cache Manager
+ * Creates a {@link TwoTierCache} for each configured cache, all sharing
+ * one L2 store and one invalidation channel; each cache's L1 holds at most
+ * {@code localMaxSize} entries. Each cache declares the type
+ * of its values, which is what L2 entries are read back as.
+ */
+public class TwoTierCacheManager extends AbstractCacheManager {
+
+    private final Map<String, JavaType> cacheValueTypes;
+    private final ObjectMapper objectMapper;
+    private final SharedCacheStore sharedStore;
+    private final Duration ttl;
+    private final long localMaxSize;
+    private final CacheInvalidationBus invalidationBus;
+
+    public TwoTierCacheManager(SharedCacheStore sharedStore, Duration ttl, long localMaxSize, String channel,
+                               ObjectMapper objectMapper, Map<String, JavaType> cacheValueTypes) {
+        this.cacheValueTypes = cacheValueTypes;
+        this.objectMapper = objectMapper;
+        this.sharedStore = sharedStore;
+        this.ttl = ttl;
+        this.localMaxSize = localMaxSize;
+        this.invalidationBus = new CacheInvalidationBus(sharedStore, channel);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        List<TwoTierCache> caches = new ArrayList<>();
+        for (Map.Entry<String, JavaType> entry : cacheValueTypes.entrySet()) {
+            TwoTierCache cache = new TwoTierCache(entry.getKey(), entry.getValue(), objectMapper,
+                    sharedStore, ttl, localMaxSize, invalidationBus);
+            invalidationBus.register(cache);
+            caches.add(cache);
+        }
+        return caches;
+    }
+}
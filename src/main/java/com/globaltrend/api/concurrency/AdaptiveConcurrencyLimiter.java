@@ -0,0 +1,143 @@
+package com.globaltrend.api.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive Concurrency Limiter
+ * 
+ * Caps the number of requests in flight at a limit it discovers from
+ * observed latency. As in Vegas, the lowest RTT seen recently is taken as
+ * the no-load baseline; it is re-measured every window of samples so it
+ * follows real changes in upstream latency. As in the gradient limiters,
+ * every completed request compares the short-term RTT to that baseline:
+ * while latency stays within the tolerance the limit grows by about
+ * sqrt(limit), and once requests start queueing the gradient
+ * (baseline / current) pulls it down. Requests over the limit are rejected
+ * right away instead of queueing behind the ones in flight.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final int baselineWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double shortRttNanos;
+    private long baselineRttNanos = Long.MAX_VALUE;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private long samples;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(
+            @Value("${api.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${api.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${api.concurrency-limit.max-limit:150}") int maxLimit,
+            @Value("${api.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${api.concurrency-limit.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${api.concurrency-limit.baseline-window:500}") int baselineWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.baselineWindow = baselineWindow;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Take a slot if the limit allows it
+     * 
+     * @return true if the request may proceed; it must then call {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give back a slot and feed the request's latency into the limit
+     * 
+     * @param rttNanos Time the request held its slot
+     */
+    public void release(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        update(rttNanos, inFlightAtCompletion);
+    }
+
+    /**
+     * Every completing request takes this one lock, on the very path the
+     * limiter protects. The critical section is a few arithmetic operations,
+     * orders of magnitude shorter than the requests it gates (at most
+     * max-limit of them complete concurrently), so it does not show up next to
+     * upstream latency. If it ever did, samples could be striped per thread
+     * and folded in periodically, at the cost of a slower reacting limit.
+     */
+    private synchronized void update(long rttNanos, int inFlightAtCompletion) {
+        samples++;
+        shortRttNanos = samples == 1 ? rttNanos : shortRttNanos * 0.9 + rttNanos * 0.1;
+
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        if (++windowSamples >= baselineWindow) {
+            baselineRttNanos = windowMinRttNanos;
+            windowMinRttNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        long noLoadRttNanos = Math.min(baselineRttNanos, windowMinRttNanos);
+
+        // Not using the current limit says nothing about whether a higher one would be safe
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * noLoadRttNanos / shortRttNanos));
+        double queueSize = Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("limit", limit);
+        stats.put("inFlight", inFlight.get());
+        stats.put("minLimit", minLimit);
+        stats.put("maxLimit", maxLimit);
+        synchronized (this) {
+            long noLoadRttNanos = Math.min(baselineRttNanos, windowMinRttNanos);
+            stats.put("noLoadRttMs", noLoadRttNanos != Long.MAX_VALUE
+                    ? TimeUnit.NANOSECONDS.toMicros(noLoadRttNanos) / 1000.0 : null);
+            stats.put("shortRttMs", TimeUnit.NANOSECONDS.toMicros((long) shortRttNanos) / 1000.0);
+        }
+        stats.put("accepted", accepted.sum());
+        stats.put("rejected", rejected.sum());
+        return stats;
+    }
+}
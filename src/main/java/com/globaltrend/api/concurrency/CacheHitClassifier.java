@@ -0,0 +1,58 @@
+package com.globaltrend.api.concurrency;
+
+import com.globaltrend.api.exception.InvalidCursorException;
+import com.globaltrend.api.service.GitHubApiService;
+import com.globaltrend.api.util.GitHubPageParams;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Cache Hit Classifier
+ * Predicts, before the controller runs, whether a request will be answered
+ * from memory. Paging parameters are resolved by {@link GitHubPageParams},
+ * exactly as the controller resolves them.
+ */
+@Component
+@RequiredArgsConstructor
+class CacheHitClassifier {
+
+    private final GitHubApiService gitHubApiService;
+
+    boolean isCacheHit(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return false;
+        }
+
+        try {
+            return switch (pattern.toString()) {
+                // Served from the local JSONPlaceholder snapshot, never upstream
+                case "/api/posts", "/api/posts/{id}", "/api/users", "/api/users/{id}" -> true;
+                case "/api/github/users" -> {
+                    GitHubPageParams.UsersPage page = GitHubPageParams.usersPage(request::getParameter);
+                    yield gitHubApiService.isUsersPageCached(page.since(), page.perPage());
+                }
+                case "/api/github/users/{username}" -> gitHubApiService.isUserCached(username(request));
+                case "/api/github/users/{username}/repos" -> {
+                    GitHubPageParams.ReposPage page = GitHubPageParams.reposPage(request::getParameter);
+                    yield gitHubApiService.isRepositoriesPageCached(username(request), page.page(), page.perPage());
+                }
+                default -> false;
+            };
+        } catch (InvalidCursorException | NumberFormatException e) {
+            // Rejected by the controller without any upstream call
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String username(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(
+                HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables != null ? variables.get("username") : null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.globaltrend.api.concurrency;
+
+import com.globaltrend.api.exception.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency Limit Interceptor
+ * Requests predicted to be cache hits take the fast lane and are never
+ * limited; everything else needs a slot from the adaptive limiter and is
+ * shed with 503 when there is none, rather than queueing on a blocked thread
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED_AT = ConcurrencyLimitInterceptor.class.getName() + ".startedAt";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CacheHitClassifier cacheHitClassifier;
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+
+    private final LongAdder fastLane = new LongAdder();
+
+    public ConcurrencyLimitInterceptor(
+            AdaptiveConcurrencyLimiter limiter,
+            CacheHitClassifier cacheHitClassifier,
+            @Value("${api.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${api.concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.limiter = limiter;
+        this.cacheHitClassifier = cacheHitClassifier;
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled) {
+            return true;
+        }
+        if (cacheHitClassifier.isCacheHit(request)) {
+            fastLane.increment();
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            throw new ServiceUnavailableException("Server is at capacity, retry later", retryAfterSeconds);
+        }
+        request.setAttribute(STARTED_AT, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object startedAt = request.getAttribute(STARTED_AT);
+        if (startedAt != null) {
+            request.removeAttribute(STARTED_AT);
+            limiter.release(System.nanoTime() - (Long) startedAt);
+        }
+    }
+
+    public long getFastLaneCount() {
+        return fastLane.sum();
+    }
+}
@@ -0,0 +1,59 @@
+package com.globaltrend.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Async Configuration
+ * 
+ * Configures the small, bounded executors used for background work:
+ * warming the cache with the next page of results, and writing live
+ * feed events to connected clients.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${api.github.prefetch.threads:2}")
+    private int prefetchThreads;
+
+    @Value("${api.github.prefetch.queue-capacity:64}")
+    private int prefetchQueueCapacity;
+
+    @Value("${api.live-feed.delivery-threads:4}")
+    private int feedDeliveryThreads;
+
+    /**
+     * Executor for next-page prefetching. Rejects instead of blocking
+     * when saturated so prefetching never slows down the request path.
+     */
+    @Bean(name = "prefetchExecutor")
+    public ThreadPoolTaskExecutor prefetchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(prefetchThreads);
+        executor.setMaxPoolSize(prefetchThreads);
+        executor.setQueueCapacity(prefetchQueueCapacity);
+        executor.setThreadNamePrefix("prefetch-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that drains live feed subscriber buffers. Rejected drains are
+     * retried on the next event, so a saturated pool degrades into slow
+     * consumers being evicted rather than the poller blocking.
+     */
+    @Bean(name = "feedDeliveryExecutor")
+    public ThreadPoolTaskExecutor feedDeliveryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(feedDeliveryThreads);
+        executor.setMaxPoolSize(feedDeliveryThreads);
+        executor.setQueueCapacity(1024);
+        executor.setThreadNamePrefix("feed-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+}
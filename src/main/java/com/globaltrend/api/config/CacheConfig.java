@@ -1,27 +1,109 @@
 package com.globaltrend.api.config;
 
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.globaltrend.api.cache.InMemorySharedCacheStore;
+import com.globaltrend.api.cache.RangeSegmentCache;
+import com.globaltrend.api.cache.RedisSharedCacheStore;
+import com.globaltrend.api.cache.SharedCacheStore;
+import com.globaltrend.api.cache.TwoTierCacheManager;
+import com.globaltrend.api.model.CursorPage;
+import com.globaltrend.api.model.GitHubRepository;
+import com.globaltrend.api.model.GitHubUser;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Cache Configuration
  * 
  * Configures in-memory caching for API responses to improve performance
- * and reduce unnecessary API calls.
+ * and reduce unnecessary API calls. When the shared (L2) tier is enabled,
+ * each instance keeps its local cache as a near cache in front of a store
+ * shared by the whole cluster, kept coherent through pub/sub invalidation.
+ * The tier and its store are chosen when the context starts rather than with
+ * conditional beans, so an AOT-processed build can still be switched at runtime.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    @Value("${api.github.user-segments.ttl:10m}")
+    private Duration userSegmentsTtl;
+
+    @Value("${api.github.user-segments.max-users:50000}")
+    private int userSegmentsMaxUsers;
+
+    @Value("${api.cache.l1.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${api.cache.l2.enabled:true}")
+    private boolean sharedEnabled;
+
+    @Value("${api.cache.l2.type:embedded}")
+    private String sharedType;
+
+    @Value("${api.cache.l2.ttl:10m}")
+    private Duration sharedTtl;
+
+    @Value("${api.cache.l2.channel:globaltrend:cache-invalidation}")
+    private String invalidationChannel;
+
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<SharedCacheStore> sharedCacheStore, ObjectMapper objectMapper) {
+        if (!sharedEnabled) {
+            CaffeineCacheManager localOnly = new CaffeineCacheManager(
+                    cacheValueTypes(objectMapper.getTypeFactory()).keySet().toArray(String[]::new));
+            localOnly.setCaffeine(Caffeine.newBuilder().maximumSize(localMaxSize).expireAfterWrite(sharedTtl));
+            return localOnly;
+        }
+        return new TwoTierCacheManager(sharedCacheStore.getObject(), sharedTtl, localMaxSize, invalidationChannel,
+                objectMapper, cacheValueTypes(objectMapper.getTypeFactory()));
+    }
+
+    /**
+     * What each cache holds, i.e. what the @Cacheable methods return
+     */
+    private static Map<String, JavaType> cacheValueTypes(TypeFactory types) {
+        Map<String, JavaType> valueTypes = new LinkedHashMap<>();
+        valueTypes.put("github-users", types.constructType(GitHubUser.class));
+        valueTypes.put("github-repos", types.constructParametricType(CursorPage.class, GitHubRepository.class));
+        return valueTypes;
+    }
+
+    /**
+     * GitHub user listings, cached by id range rather than by page
+     * (GitHub caps per_page at 100)
+     */
+    @Bean
+    public RangeSegmentCache<GitHubUser> githubUserSegments() {
+        return new RangeSegmentCache<>(GitHubUser::getId, userSegmentsTtl.toNanos(), userSegmentsMaxUsers, 100);
+    }
+
+    /**
+     * L2 store: embedded for single-instance deployments and tests, Redis when
+     * shared by every instance behind the load balancer. Only created when the
+     * L2 tier is enabled.
+     */
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
-                "github-users",
-                "github-repos",
-                "posts",
-                "users");
+    @Lazy
+    public SharedCacheStore sharedCacheStore(ObjectProvider<RedisConnectionFactory> connectionFactory) {
+        return switch (sharedType) {
+            case "embedded" -> new InMemorySharedCacheStore();
+            case "redis" -> new RedisSharedCacheStore(connectionFactory.getObject());
+            default -> throw new IllegalStateException("Unknown api.cache.l2.type: " + sharedType);
+        };
     }
 }
@@ -0,0 +1,36 @@
+package com.globaltrend.api.config;
+
+import com.globaltrend.api.model.ApiResponse;
+import com.globaltrend.api.model.CursorPage;
+import com.globaltrend.api.model.ErrorResponse;
+import com.globaltrend.api.model.FeedChange;
+import com.globaltrend.api.model.GitHubRepository;
+import com.globaltrend.api.model.GitHubUser;
+import com.globaltrend.api.model.Post;
+import com.globaltrend.api.model.User;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Native Image Hints
+ * 
+ * Jackson binds the upstream models by reflection, through WebClient and
+ * the shared cache tier, which AOT processing cannot see. They need to be
+ * declared for a GraalVM native image. Has no effect on a regular JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+@RegisterReflectionForBinding({
+        GitHubUser.class,
+        GitHubRepository.class,
+        Post.class,
+        User.class,
+        User.Address.class,
+        User.Address.Geo.class,
+        User.Company.class,
+        CursorPage.class,
+        FeedChange.class,
+        ApiResponse.class,
+        ErrorResponse.class
+})
+public class NativeHintsConfig {
+}
@@ -1,5 +1,6 @@
 package com.globaltrend.api.config;
 
+import com.globaltrend.api.recording.UpstreamRecordings;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,7 +14,9 @@ import java.time.Duration;
  * WebClient Configuration for API Integration
  * 
  * Configures WebClient beans for GitHub and JSONPlaceholder APIs
- * with appropriate timeout settings and headers.
+ * with appropriate timeout settings and headers. Both clients can be
+ * switched to recording or replaying their traffic, see
+ * {@link UpstreamRecordings}.
  */
 @Configuration
 public class WebClientConfig {
@@ -34,22 +37,22 @@ public class WebClientConfig {
      * WebClient for GitHub API
      */
     @Bean(name = "githubWebClient")
-    public WebClient githubWebClient() {
-        return WebClient.builder()
+    public WebClient githubWebClient(UpstreamRecordings upstreamRecordings) {
+        WebClient.Builder builder = WebClient.builder()
                 .baseUrl(githubBaseUrl)
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader(HttpHeaders.USER_AGENT, "Global-Trend-API-Integration")
-                .build();
+                .defaultHeader(HttpHeaders.USER_AGENT, "Global-Trend-API-Integration");
+        return upstreamRecordings.apply(builder, "github").build();
     }
 
     /**
      * WebClient for JSONPlaceholder API
      */
     @Bean(name = "jsonPlaceholderWebClient")
-    public WebClient jsonPlaceholderWebClient() {
-        return WebClient.builder()
+    public WebClient jsonPlaceholderWebClient(UpstreamRecordings upstreamRecordings) {
+        WebClient.Builder builder = WebClient.builder()
                 .baseUrl(jsonPlaceholderBaseUrl)
-                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .build();
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        return upstreamRecordings.apply(builder, "jsonplaceholder").build();
     }
 }
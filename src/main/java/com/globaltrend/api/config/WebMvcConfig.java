@@ -0,0 +1,70 @@
+package com.globaltrend.api.config;
+
+import com.globaltrend.api.concurrency.ConcurrencyLimitInterceptor;
+import com.globaltrend.api.ratelimit.RateLimitInterceptor;
+import com.globaltrend.api.ratelimit.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Web MVC Configuration
+ * 
+ * Registers the interceptors that run in front of the API controllers, and
+ * serves the static frontend. The build fingerprints js/css file names and
+ * precompresses every asset (see the static-assets execution in pom.xml),
+ * so fingerprinted files are cached as immutable for a year, everything
+ * else (index.html, unfingerprinted names in a dev build) is always
+ * revalidated, and the .br/.gz variant matching Accept-Encoding is served
+ * as-is.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    /** File name fingerprint written by the static-assets build step */
+    static final String FINGERPRINT = "[0-9a-f]{12}";
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+        // After rate limiting, so abusive clients are turned away before taking a slot
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/github/**", "/api/posts/**", "/api/users/**", "/api/posts", "/api/users");
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        CacheControl immutable = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+        // Only names carrying the build's 12 hex digit content hash; more specific than /**, so matched first
+        registry.addResourceHandler("/js/{name}.{hash:" + FINGERPRINT + "}.js")
+                .addResourceLocations("classpath:/static/js/")
+                .setCacheControl(immutable)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        registry.addResourceHandler("/css/{name}.{hash:" + FINGERPRINT + "}.css")
+                .addResourceLocations("classpath:/static/css/")
+                .setCacheControl(immutable)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        registry.addResourceHandler("/**")
+                .addResourceLocations("classpath:/static/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+    }
+}
@@ -0,0 +1,55 @@
+package com.globaltrend.api.controller;
+
+import com.globaltrend.api.cache.NegativeCache;
+import com.globaltrend.api.cache.RangeSegmentCache;
+import com.globaltrend.api.cache.TwoTierCache;
+import com.globaltrend.api.model.ApiResponse;
+import com.globaltrend.api.model.GitHubUser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache Statistics Controller
+ * Reports hit/miss counters for the response caches, the GitHub user
+ * segment cache and, separately, the negative (not found) cache
+ */
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Slf4j
+public class CacheStatsController {
+
+    private final CacheManager cacheManager;
+    private final NegativeCache negativeCache;
+    private final RangeSegmentCache<GitHubUser> githubUserSegments;
+
+    /**
+     * Get cache statistics
+     * GET /api/cache/stats
+     */
+    @GetMapping("/stats")
+    public ApiResponse<Map<String, Object>> getStats() {
+        log.debug("GET /api/cache/stats");
+
+        Map<String, Object> caches = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof TwoTierCache twoTierCache) {
+                caches.put(name, twoTierCache.getStats());
+            }
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("caches", caches);
+        stats.put("githubUserSegments", githubUserSegments.getStats());
+        stats.put("negative", negativeCache.getStats());
+
+        return ApiResponse.success(stats);
+    }
+}
@@ -0,0 +1,39 @@
+package com.globaltrend.api.controller;
+
+import com.globaltrend.api.concurrency.AdaptiveConcurrencyLimiter;
+import com.globaltrend.api.concurrency.ConcurrencyLimitInterceptor;
+import com.globaltrend.api.model.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Concurrency Statistics Controller
+ * Reports the adaptive concurrency limit and how many requests were
+ * accepted, shed or sent through the cache-hit fast lane
+ */
+@RestController
+@RequestMapping("/api/concurrency")
+@RequiredArgsConstructor
+@Slf4j
+public class ConcurrencyStatsController {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    /**
+     * Get concurrency limiter statistics
+     * GET /api/concurrency/stats
+     */
+    @GetMapping("/stats")
+    public ApiResponse<Map<String, Object>> getStats() {
+        log.debug("GET /api/concurrency/stats");
+
+        Map<String, Object> stats = limiter.getStats();
+        stats.put("fastLane", concurrencyLimitInterceptor.getFastLaneCount());
+
+        return ApiResponse.success(stats);
+    }
+}
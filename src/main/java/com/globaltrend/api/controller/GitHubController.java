@@ -1,9 +1,12 @@
 package com.globaltrend.api.controller;
 
 import com.globaltrend.api.model.ApiResponse;
+import com.globaltrend.api.model.CursorPage;
 import com.globaltrend.api.model.GitHubRepository;
 import com.globaltrend.api.model.GitHubUser;
 import com.globaltrend.api.service.GitHubApiService;
+import com.globaltrend.api.service.PagePrefetcher;
+import com.globaltrend.api.util.GitHubPageParams;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
@@ -23,24 +26,36 @@ import java.util.Map;
 public class GitHubController {
 
     private final GitHubApiService gitHubApiService;
+    private final PagePrefetcher pagePrefetcher;
 
     /**
      * List GitHub users with pagination
      * GET /api/github/users?since=0&perPage=10
+     * GET /api/github/users?cursor={nextCursor}
      */
     @GetMapping("/users")
     public ApiResponse<List<GitHubUser>> getUsers(
-            @RequestParam(defaultValue = "0") int since,
-            @RequestParam(defaultValue = "10") int perPage) {
+            @RequestParam(name = GitHubPageParams.SINCE, defaultValue = GitHubPageParams.DEFAULT_SINCE) long since,
+            @RequestParam(name = GitHubPageParams.PER_PAGE, defaultValue = GitHubPageParams.DEFAULT_PER_PAGE) int perPage,
+            @RequestParam(name = GitHubPageParams.CURSOR, required = false) String cursor) {
 
-        log.info("GET /api/github/users - since: {}, perPage: {}", since, perPage);
+        GitHubPageParams.UsersPage params = GitHubPageParams.usersPage(since, perPage, cursor);
+        since = params.since();
+        perPage = params.perPage();
 
-        List<GitHubUser> users = gitHubApiService.getUsers(since, perPage);
+        log.debug("GET /api/github/users - since: {}, perPage: {}", since, perPage);
+
+        CursorPage<GitHubUser> page = gitHubApiService.getUsers(since, perPage);
+        prefetchUsers(page.getNextCursor(), perPage);
+
+        List<GitHubUser> users = page.getItems();
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("count", users.size());
         metadata.put("since", since);
         metadata.put("perPage", perPage);
+        metadata.put("nextCursor", page.getNextCursor());
+        metadata.put("hasMore", page.hasNext());
 
         return ApiResponse.success(users, metadata);
     }
@@ -51,7 +66,7 @@ public class GitHubController {
      */
     @GetMapping("/users/{username}")
     public ApiResponse<GitHubUser> getUserByUsername(@PathVariable String username) {
-        log.info("GET /api/github/users/{}", username);
+        log.debug("GET /api/github/users/{}", username);
 
         GitHubUser user = gitHubApiService.getUserByUsername(username);
 
@@ -61,23 +76,55 @@ public class GitHubController {
     /**
      * Get repositories for a GitHub user
      * GET /api/github/users/{username}/repos?page=1&perPage=10
+     * GET /api/github/users/{username}/repos?cursor={nextCursor}
      */
     @GetMapping("/users/{username}/repos")
     public ApiResponse<List<GitHubRepository>> getUserRepositories(
             @PathVariable String username,
-            @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int perPage) {
+            @RequestParam(name = GitHubPageParams.PAGE, defaultValue = GitHubPageParams.DEFAULT_PAGE) int page,
+            @RequestParam(name = GitHubPageParams.PER_PAGE, defaultValue = GitHubPageParams.DEFAULT_PER_PAGE) int perPage,
+            @RequestParam(name = GitHubPageParams.CURSOR, required = false) String cursor) {
+
+        GitHubPageParams.ReposPage params = GitHubPageParams.reposPage(page, perPage, cursor);
+        page = params.page();
+        perPage = params.perPage();
 
-        log.info("GET /api/github/users/{}/repos - page: {}, perPage: {}", username, page, perPage);
+        log.debug("GET /api/github/users/{}/repos - page: {}, perPage: {}", username, page, perPage);
 
-        List<GitHubRepository> repos = gitHubApiService.getUserRepositories(username, page, perPage);
+        CursorPage<GitHubRepository> result = gitHubApiService.getUserRepositories(username, page, perPage);
+        prefetchRepositories(username, result.getNextCursor(), perPage);
+
+        List<GitHubRepository> repos = result.getItems();
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("username", username);
         metadata.put("count", repos.size());
         metadata.put("page", page);
         metadata.put("perPage", perPage);
+        metadata.put("nextCursor", result.getNextCursor());
+        metadata.put("hasMore", result.hasNext());
 
         return ApiResponse.success(repos, metadata);
     }
+
+    /**
+     * Warm the cache with the page after the one being served
+     */
+    private void prefetchUsers(String nextCursor, int perPage) {
+        if (nextCursor == null) {
+            return;
+        }
+        GitHubPageParams.UsersPage next = GitHubPageParams.usersPage(0, perPage, nextCursor);
+        pagePrefetcher.prefetch("users_" + next.since() + "_" + next.perPage(),
+                () -> gitHubApiService.getUsers(next.since(), next.perPage()));
+    }
+
+    private void prefetchRepositories(String username, String nextCursor, int perPage) {
+        if (nextCursor == null) {
+            return;
+        }
+        GitHubPageParams.ReposPage next = GitHubPageParams.reposPage(1, perPage, nextCursor);
+        pagePrefetcher.prefetch("repos_" + username + "_" + next.page() + "_" + next.perPage(),
+                () -> gitHubApiService.getUserRepositories(username, next.page(), next.perPage()));
+    }
 }
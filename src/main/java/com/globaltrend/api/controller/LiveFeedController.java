@@ -0,0 +1,32 @@
+package com.globaltrend.api.controller;
+
+import com.globaltrend.api.feed.LiveFeedService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Live Feed Controller
+ * Provides Server-Sent Events streams of changes to GitHub users and posts
+ */
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+@Slf4j
+public class LiveFeedController {
+
+    private final LiveFeedService liveFeedService;
+
+    /**
+     * Subscribe to a live feed
+     * GET /api/stream/github-users
+     * GET /api/stream/posts
+     */
+    @GetMapping("/{feed}")
+    public SseEmitter subscribe(@PathVariable String feed) {
+        log.debug("GET /api/stream/{}", feed);
+
+        return liveFeedService.subscribe(feed);
+    }
+}
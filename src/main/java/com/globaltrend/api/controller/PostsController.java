@@ -1,5 +1,6 @@
 package com.globaltrend.api.controller;
 
+import com.globaltrend.api.exception.InvalidExpansionException;
 import com.globaltrend.api.model.ApiResponse;
 import com.globaltrend.api.model.Post;
 import com.globaltrend.api.model.User;
@@ -26,16 +27,19 @@ public class PostsController {
 
     /**
      * List all posts with optional filtering
-     * GET /api/posts?userId=1&limit=10
+     * GET /api/posts?userId=1&limit=10&expand=author
      */
     @GetMapping("/posts")
     public ApiResponse<List<Post>> getPosts(
             @RequestParam(required = false) Long userId,
-            @RequestParam(required = false) Integer limit) {
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String expand) {
 
-        log.info("GET /api/posts - userId: {}, limit: {}", userId, limit);
+        log.debug("GET /api/posts - userId: {}, limit: {}, expand: {}", userId, limit, expand);
 
-        List<Post> posts = jsonPlaceholderService.getPosts(userId, limit);
+        List<Post> posts = expandsAuthor(expand)
+                ? jsonPlaceholderService.getPostsWithAuthors(userId, limit)
+                : jsonPlaceholderService.getPosts(userId, limit);
 
         Map<String, Object> metadata = new HashMap<>();
         metadata.put("count", posts.size());
@@ -51,13 +55,18 @@ public class PostsController {
 
     /**
      * Get a single post by ID
-     * GET /api/posts/{id}
+     * GET /api/posts/{id}?expand=author
      */
     @GetMapping("/posts/{id}")
-    public ApiResponse<Post> getPostById(@PathVariable Long id) {
-        log.info("GET /api/posts/{}", id);
+    public ApiResponse<Post> getPostById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String expand) {
 
-        Post post = jsonPlaceholderService.getPostById(id);
+        log.debug("GET /api/posts/{} - expand: {}", id, expand);
+
+        Post post = expandsAuthor(expand)
+                ? jsonPlaceholderService.getPostWithAuthorById(id)
+                : jsonPlaceholderService.getPostById(id);
 
         return ApiResponse.success(post);
     }
@@ -68,7 +77,7 @@ public class PostsController {
      */
     @GetMapping("/users")
     public ApiResponse<List<User>> getUsers() {
-        log.info("GET /api/users");
+        log.debug("GET /api/users");
 
         List<User> users = jsonPlaceholderService.getUsers();
 
@@ -84,10 +93,23 @@ public class PostsController {
      */
     @GetMapping("/users/{id}")
     public ApiResponse<User> getUserById(@PathVariable Long id) {
-        log.info("GET /api/users/{}", id);
+        log.debug("GET /api/users/{}", id);
 
         User user = jsonPlaceholderService.getUserById(id);
 
         return ApiResponse.success(user);
     }
+
+    /**
+     * Posts support a single expansion, the author
+     */
+    private boolean expandsAuthor(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return false;
+        }
+        if (!"author".equals(expand.trim())) {
+            throw new InvalidExpansionException("Unsupported expand value: " + expand + " (supported: author)");
+        }
+        return true;
+    }
 }
@@ -0,0 +1,33 @@
+package com.globaltrend.api.controller;
+
+import com.globaltrend.api.model.ApiResponse;
+import com.globaltrend.api.sync.JsonPlaceholderSyncEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Sync Status Controller
+ * Reports the state of the background JSONPlaceholder sync
+ */
+@RestController
+@RequestMapping("/api/sync")
+@RequiredArgsConstructor
+@Slf4j
+public class SyncStatusController {
+
+    private final JsonPlaceholderSyncEngine syncEngine;
+
+    /**
+     * Get sync status: snapshot version, lag, last delta and failures
+     * GET /api/sync/status
+     */
+    @GetMapping("/status")
+    public ApiResponse<Map<String, Object>> getStatus() {
+        log.debug("GET /api/sync/status");
+
+        return ApiResponse.success(syncEngine.getStatus());
+    }
+}
@@ -0,0 +1,11 @@
+package com.globaltrend.api.exception;
+
+/**
+ * Custom exception for malformed or tampered pagination cursors
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
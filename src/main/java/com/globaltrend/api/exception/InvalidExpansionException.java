@@ -0,0 +1,11 @@
+package com.globaltrend.api.exception;
+
+/**
+ * Custom exception for unsupported values of the expand parameter
+ */
+public class InvalidExpansionException extends RuntimeException {
+
+    public InvalidExpansionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.globaltrend.api.exception;
+
+/**
+ * Custom exception for clients that exceeded their rate limit
+ */
+public class RateLimitExceededException extends StacklessException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("Rate limit exceeded, retry after " + retryAfterSeconds + " seconds");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
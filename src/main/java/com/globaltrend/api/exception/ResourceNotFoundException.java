@@ -3,7 +3,7 @@ package com.globaltrend.api.exception;
 /**
  * Custom exception for resource not found scenarios
  */
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends StacklessException {
 
     public ResourceNotFoundException(String message) {
         super(message);
@@ -0,0 +1,18 @@
+package com.globaltrend.api.exception;
+
+/**
+ * Custom exception for requests rejected because the server is at capacity
+ */
+public class ServiceUnavailableException extends StacklessException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,14 @@
+package com.globaltrend.api.exception;
+
+/**
+ * Base exception for expected outcomes that map straight to an error response.
+ * They are cheap for clients to provoke (missing resources, rate limiting, load
+ * shedding), so no stack trace is captured: filling it in would cost more than
+ * the request itself, and the handler never logs it.
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    protected StacklessException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,14 @@
+package com.globaltrend.api.feed;
+
+/**
+ * A pre-serialized event, shared by every subscriber of a feed so the
+ * payload is rendered to JSON once per change rather than once per client
+ */
+record FeedEvent(String name, long version, String json) {
+
+    static final FeedEvent HEARTBEAT = new FeedEvent(null, 0, null);
+
+    boolean isHeartbeat() {
+        return this == HEARTBEAT;
+    }
+}
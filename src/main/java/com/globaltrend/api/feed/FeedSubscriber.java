@@ -0,0 +1,101 @@
+package com.globaltrend.api.feed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feed Subscriber
+ * One connected SSE client. Events are queued in a small bounded buffer and
+ * written by the delivery executor, so a slow client never blocks the
+ * poller; a client whose buffer overflows is evicted.
+ */
+@Slf4j
+class FeedSubscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<FeedEvent> buffer;
+    private final Executor deliveryExecutor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    FeedSubscriber(SseEmitter emitter, int bufferSize, Executor deliveryExecutor) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.deliveryExecutor = deliveryExecutor;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Queue an event for delivery
+     * 
+     * @return false if the subscriber is closed or its buffer is full
+     */
+    boolean offer(FeedEvent event) {
+        if (closed || !buffer.offer(event)) {
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.clear();
+        emitter.complete();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            deliveryExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Retried on the next offer; a subscriber that keeps falling behind is evicted
+            draining.set(false);
+        }
+    }
+
+    private void drain() {
+        try {
+            FeedEvent event;
+            while (!closed && (event = buffer.poll()) != null) {
+                send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping feed subscriber: {}", e.getMessage());
+            close();
+        } finally {
+            draining.set(false);
+        }
+
+        if (!closed && !buffer.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void send(FeedEvent event) throws IOException {
+        if (event.isHeartbeat()) {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+            return;
+        }
+        emitter.send(SseEmitter.event()
+                .name(event.name())
+                .id(Long.toString(event.version()))
+                .data(event.json(), MediaType.APPLICATION_JSON));
+    }
+}
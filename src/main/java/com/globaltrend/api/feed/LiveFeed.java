@@ -0,0 +1,188 @@
+package com.globaltrend.api.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globaltrend.api.model.FeedChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Live Feed
+ * Polls one upstream resource, diffs it against the previous snapshot and
+ * fans the changes out to every subscriber. Upstream cost is one poll per
+ * interval regardless of how many clients are connected, and nothing is
+ * polled while nobody is listening. Each feed has its own interval; ticks
+ * in between only send a heartbeat.
+ * 
+ * {@link #poll()} must only be called from a single thread. Publishing a
+ * new snapshot and registering a subscriber hold the same lock, so a new
+ * client sees either the old snapshot followed by the change, or only the
+ * new snapshot, never a change twice or out of order.
+ */
+@Slf4j
+public class LiveFeed<T> {
+
+    private final String name;
+    private final Supplier<List<T>> fetcher;
+    private final Function<T, Object> idExtractor;
+    private final ObjectMapper objectMapper;
+    private final Executor deliveryExecutor;
+    private final int bufferSize;
+    private final long intervalNanos;
+    private final Set<FeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Object publishLock = new Object();
+
+    private volatile Snapshot<T> snapshot = new Snapshot<>(0, Map.of(), null);
+    private long lastPolledAt;
+    private boolean polled;
+
+    public LiveFeed(String name, Supplier<List<T>> fetcher, Function<T, Object> idExtractor,
+                    ObjectMapper objectMapper, Executor deliveryExecutor, int bufferSize, long intervalMillis) {
+        this.name = name;
+        this.fetcher = fetcher;
+        this.idExtractor = idExtractor;
+        this.objectMapper = objectMapper;
+        this.deliveryExecutor = deliveryExecutor;
+        this.bufferSize = bufferSize;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Register a new client. It first receives the current snapshot (if one
+     * has been taken) and then only the changes.
+     */
+    public SseEmitter subscribe(long timeoutMillis) {
+        return subscribe(new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        FeedSubscriber subscriber = new FeedSubscriber(emitter, bufferSize, deliveryExecutor);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (publishLock) {
+            Snapshot<T> current = snapshot;
+            if (current.json != null) {
+                subscriber.offer(new FeedEvent("snapshot", current.version, current.json));
+            }
+            subscribers.add(subscriber);
+        }
+        return emitter;
+    }
+
+    /**
+     * Fetch the resource once and publish what changed since the last poll,
+     * if the feed's interval has elapsed
+     */
+    public void poll() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (polled && now - lastPolledAt < intervalNanos) {
+            broadcast(FeedEvent.HEARTBEAT);
+            return;
+        }
+        polled = true;
+        lastPolledAt = now;
+
+        List<T> items;
+        try {
+            items = fetcher.get();
+        } catch (RuntimeException e) {
+            log.warn("Live feed {} poll failed: {}", name, e.getMessage());
+            return;
+        }
+
+        Snapshot<T> previous = snapshot;
+        Map<Object, T> current = index(items);
+        FeedChange<T> change = diff(previous.items, current, previous.version + 1);
+
+        if (change.isEmpty()) {
+            broadcast(FeedEvent.HEARTBEAT);
+            return;
+        }
+
+        try {
+            String changeJson = objectMapper.writeValueAsString(change);
+            String snapshotJson = objectMapper.writeValueAsString(current.values());
+            synchronized (publishLock) {
+                snapshot = new Snapshot<>(change.getVersion(), current, snapshotJson);
+                broadcast(new FeedEvent("changes", change.getVersion(), changeJson));
+            }
+        } catch (JsonProcessingException e) {
+            log.error("Live feed {} could not serialize changes", name, e);
+        }
+    }
+
+    public void close() {
+        subscribers.forEach(FeedSubscriber::close);
+        subscribers.clear();
+    }
+
+    private void broadcast(FeedEvent event) {
+        for (FeedSubscriber subscriber : subscribers) {
+            if (!subscriber.offer(event)) {
+                log.debug("Evicting slow subscriber from live feed {}", name);
+                subscribers.remove(subscriber);
+                subscriber.close();
+            }
+        }
+    }
+
+    private Map<Object, T> index(List<T> items) {
+        Map<Object, T> indexed = new LinkedHashMap<>();
+        for (T item : items) {
+            indexed.put(idExtractor.apply(item), item);
+        }
+        return indexed;
+    }
+
+    private FeedChange<T> diff(Map<Object, T> previous, Map<Object, T> current, long version) {
+        List<T> added = new ArrayList<>();
+        List<T> updated = new ArrayList<>();
+        List<Object> removed = new ArrayList<>();
+
+        current.forEach((id, item) -> {
+            T old = previous.get(id);
+            if (old == null) {
+                added.add(item);
+            } else if (!Objects.equals(old, item)) {
+                updated.add(item);
+            }
+        });
+        previous.keySet().forEach(id -> {
+            if (!current.containsKey(id)) {
+                removed.add(id);
+            }
+        });
+
+        return new FeedChange<>(name, version, added, updated, removed);
+    }
+
+    private record Snapshot<T>(long version, Map<Object, T> items, String json) {
+    }
+}
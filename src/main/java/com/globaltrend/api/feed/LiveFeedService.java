@@ -0,0 +1,91 @@
+package com.globaltrend.api.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globaltrend.api.exception.ResourceNotFoundException;
+import com.globaltrend.api.exception.ServiceUnavailableException;
+import com.globaltrend.api.model.GitHubUser;
+import com.globaltrend.api.model.Post;
+import com.globaltrend.api.service.GitHubApiService;
+import com.globaltrend.api.service.JsonPlaceholderService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * Live Feed Service
+ * Owns one poller per streamable resource and hands out SSE subscriptions
+ */
+@Service
+@Slf4j
+public class LiveFeedService {
+
+    /** Unauthenticated GitHub allows 60 requests an hour, shared with every other endpoint */
+    private static final long MIN_GITHUB_USERS_INTERVAL = 60_000;
+
+    private final Map<String, LiveFeed<?>> feeds;
+    private final long emitterTimeout;
+    private final int maxSubscribers;
+
+    public LiveFeedService(
+            GitHubApiService gitHubApiService,
+            JsonPlaceholderService jsonPlaceholderService,
+            ObjectMapper objectMapper,
+            @Qualifier("feedDeliveryExecutor") TaskExecutor feedDeliveryExecutor,
+            @Value("${api.live-feed.interval:10000}") long interval,
+            @Value("${api.live-feed.github-users-interval:60000}") long githubUsersInterval,
+            @Value("${api.live-feed.github-users-per-page:30}") int githubUsersPerPage,
+            @Value("${api.live-feed.subscriber-buffer:32}") int subscriberBuffer,
+            @Value("${api.live-feed.emitter-timeout:1800000}") long emitterTimeout,
+            @Value("${api.live-feed.max-subscribers:5000}") int maxSubscribers) {
+
+        LiveFeed<GitHubUser> githubUsers = new LiveFeed<>("github-users",
+                () -> gitHubApiService.pollUsers(githubUsersPerPage).getItems(),
+                GitHubUser::getId, objectMapper, feedDeliveryExecutor, subscriberBuffer,
+                Math.max(MIN_GITHUB_USERS_INTERVAL, githubUsersInterval));
+
+        LiveFeed<Post> posts = new LiveFeed<>("posts",
+                () -> jsonPlaceholderService.getPosts(null, null),
+                Post::getId, objectMapper, feedDeliveryExecutor, subscriberBuffer, interval);
+
+        this.feeds = Map.of(githubUsers.getName(), githubUsers, posts.getName(), posts);
+        this.emitterTimeout = emitterTimeout;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    /**
+     * Subscribe to a feed
+     * 
+     * @param name Feed name ("github-users" or "posts")
+     * @return Emitter streaming the feed's snapshot and changes
+     */
+    public SseEmitter subscribe(String name) {
+        LiveFeed<?> feed = feeds.get(name);
+        if (feed == null) {
+            throw new ResourceNotFoundException("Live feed not found: " + name);
+        }
+        if (feed.getSubscriberCount() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Live feed " + name + " is at capacity, retry later", 30);
+        }
+        return feed.subscribe(emitterTimeout);
+    }
+
+    /**
+     * Poll every feed that has at least one subscriber and is due
+     */
+    @Scheduled(fixedDelayString = "${api.live-feed.interval:10000}")
+    public void pollFeeds() {
+        feeds.values().forEach(LiveFeed::poll);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        feeds.values().forEach(LiveFeed::close);
+    }
+}
@@ -0,0 +1,95 @@
+package com.globaltrend.api.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Access Log Filter
+ * Writes one structured line per request to the "access" logger. Errors
+ * and slow requests are always logged; successful requests are sampled,
+ * and a request that is sampled out costs a clock read and a random draw,
+ * with no string formatting at all.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+
+    private final boolean enabled;
+    private final double successSampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(
+            @Value("${api.access-log.enabled:true}") boolean enabled,
+            @Value("${api.access-log.success-sample-rate:0.01}") double successSampleRate,
+            @Value("${api.access-log.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.enabled = enabled;
+        this.successSampleRate = successSampleRate;
+        this.slowThresholdNanos = slowThresholdMs * 1_000_000L;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            int status = failure != null ? 500 : response.getStatus();
+
+            if (status >= 400 || elapsed >= slowThresholdNanos) {
+                if (accessLog.isWarnEnabled()) {
+                    accessLog.warn(format(request, status, elapsed, failure));
+                }
+            } else if (accessLog.isInfoEnabled() && sampled()) {
+                accessLog.info(format(request, status, elapsed, null));
+            }
+        }
+    }
+
+    private boolean sampled() {
+        return successSampleRate >= 1.0
+                || (successSampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < successSampleRate);
+    }
+
+    private String format(HttpServletRequest request, int status, long elapsedNanos, Throwable failure) {
+        StringBuilder line = new StringBuilder(160)
+                .append("method=").append(request.getMethod())
+                .append(" path=").append(request.getRequestURI())
+                .append(" status=").append(status)
+                .append(" durationMs=").append(elapsedNanos / 1_000_000L)
+                .append(" client=").append(request.getRemoteAddr());
+
+        if (request.getQueryString() != null) {
+            line.append(" query=\"").append(request.getQueryString()).append('"');
+        }
+        if (failure != null) {
+            line.append(" error=\"").append(failure.getClass().getSimpleName()).append('"');
+        }
+        return line.toString();
+    }
+}
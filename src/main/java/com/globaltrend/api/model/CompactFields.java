@@ -0,0 +1,73 @@
+package com.globaltrend.api.model;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Conversions between the boxed / string values of the public model API and
+ * the primitive fields the cached models actually store. Absent values are
+ * kept as sentinels so they still serialize as null.
+ */
+final class CompactFields {
+
+    static final long NO_LONG = Long.MIN_VALUE;
+    static final int NO_INT = Integer.MIN_VALUE;
+
+    private CompactFields() {
+    }
+
+    static long toLong(Long value) {
+        return value != null ? value : NO_LONG;
+    }
+
+    static Long fromLong(long value) {
+        return value != NO_LONG ? value : null;
+    }
+
+    static int toInt(Integer value) {
+        return value != null ? value : NO_INT;
+    }
+
+    static Integer fromInt(int value) {
+        return value != NO_INT ? value : null;
+    }
+
+    /**
+     * Parse an ISO-8601 timestamp such as GitHub's "2011-01-25T18:44:36Z".
+     * Returns {@link #NO_LONG} when the value is absent, unparseable, or would
+     * not format back to the same text, so callers keep the raw string instead.
+     */
+    static long toEpochMillis(String timestamp) {
+        if (timestamp == null) {
+            return NO_LONG;
+        }
+        try {
+            long epochMillis = OffsetDateTime.parse(timestamp, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
+                    .toInstant().toEpochMilli();
+            return timestamp.equals(fromEpochMillis(epochMillis)) ? epochMillis : NO_LONG;
+        } catch (DateTimeParseException | ArithmeticException e) {
+            return NO_LONG;
+        }
+    }
+
+    /**
+     * Raw text to keep next to the millis, i.e. the timestamp when it could not
+     * be stored as millis
+     */
+    static String toRawTimestamp(String timestamp, long epochMillis) {
+        return epochMillis == NO_LONG ? timestamp : null;
+    }
+
+    static String fromTimestamp(long epochMillis, String rawTimestamp) {
+        return rawTimestamp != null ? rawTimestamp : fromEpochMillis(epochMillis);
+    }
+
+    /**
+     * Format back to the UTC ISO-8601 form GitHub uses
+     */
+    static String fromEpochMillis(long epochMillis) {
+        return epochMillis != NO_LONG ? Instant.ofEpochMilli(epochMillis).toString() : null;
+    }
+}
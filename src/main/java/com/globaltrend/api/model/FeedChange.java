@@ -0,0 +1,31 @@
+package com.globaltrend.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Feed Change Model
+ * The difference between two consecutive snapshots of a live feed
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedChange<T> {
+
+    private String feed;
+
+    private long version;
+
+    private List<T> added;
+
+    private List<T> updated;
+
+    private List<Object> removed;
+
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+}
@@ -1,58 +1,286 @@
 package com.globaltrend.api.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.globaltrend.api.util.StringDictionary;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+import static com.globaltrend.api.model.CompactFields.NO_INT;
+import static com.globaltrend.api.model.CompactFields.NO_LONG;
+import static com.globaltrend.api.model.CompactFields.fromInt;
+import static com.globaltrend.api.model.CompactFields.fromLong;
+import static com.globaltrend.api.model.CompactFields.fromTimestamp;
+import static com.globaltrend.api.model.CompactFields.toEpochMillis;
+import static com.globaltrend.api.model.CompactFields.toInt;
+import static com.globaltrend.api.model.CompactFields.toLong;
+import static com.globaltrend.api.model.CompactFields.toRawTimestamp;
 
 /**
  * GitHub Repository Model
  * Represents a repository from GitHub API
+ * 
+ * Stored compactly like {@link GitHubUser}: counters, flags and timestamps
+ * are primitives, language and default branch are shared, and the html and
+ * clone URLs are derived from the full name when they follow GitHub's
+ * usual pattern. The JSON form is unchanged.
  */
-@Data
-public class GitHubRepository {
+@EqualsAndHashCode
+@ToString(onlyExplicitlyIncluded = true)
+@JsonPropertyOrder({"id", "name", "full_name", "description", "html_url", "clone_url", "language",
+        "stargazers_count", "watchers_count", "forks_count", "open_issues_count", "default_branch",
+        "created_at", "updated_at", "pushed_at", "fork", "private"})
+public class GitHubRepository implements Serializable {
+
+    private static final String HTML_URL_PREFIX = "https://github.com/";
+    private static final String CLONE_URL_SUFFIX = ".git";
+
+    private static final byte HTML_URL_DERIVED = 1;
+    private static final byte CLONE_URL_DERIVED = 1 << 1;
+    private static final byte FORK_SET = 1 << 2;
+    private static final byte FORK = 1 << 3;
+    private static final byte PRIVATE_SET = 1 << 4;
+    private static final byte PRIVATE = 1 << 5;
 
-    private Long id;
+    private long idValue = NO_LONG;
 
     private String name;
 
-    @JsonProperty("full_name")
     private String fullName;
 
     private String description;
 
+    /** Null when derived from the full name */
+    private String htmlUrlValue;
+
+    /** Null when derived from the full name */
+    private String cloneUrlValue;
+
+    private String language;
+
+    private int stargazersCountValue = NO_INT;
+
+    private int watchersCountValue = NO_INT;
+
+    private int forksCountValue = NO_INT;
+
+    private int openIssuesCountValue = NO_INT;
+
+    private String defaultBranch;
+
+    private long createdAtMillis = NO_LONG;
+
+    private long updatedAtMillis = NO_LONG;
+
+    private long pushedAtMillis = NO_LONG;
+
+    /** Null unless the timestamp could not be stored as millis */
+    private String createdAtRaw;
+
+    private String updatedAtRaw;
+
+    private String pushedAtRaw;
+
+    private byte flags;
+
+    @ToString.Include(name = "id")
+    public Long getId() {
+        return fromLong(idValue);
+    }
+
+    public void setId(Long id) {
+        this.idValue = toLong(id);
+    }
+
+    @ToString.Include(name = "name")
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @ToString.Include(name = "fullName")
+    @JsonProperty("full_name")
+    public String getFullName() {
+        return fullName;
+    }
+
+    @JsonProperty("full_name")
+    public void setFullName(String fullName) {
+        String htmlUrl = getHtmlUrl();
+        String cloneUrl = getCloneUrl();
+        this.fullName = fullName;
+        setHtmlUrl(htmlUrl);
+        setCloneUrl(cloneUrl);
+    }
+
+    @ToString.Include(name = "description")
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    @ToString.Include(name = "htmlUrl")
+    @JsonProperty("html_url")
+    public String getHtmlUrl() {
+        return hasFlag(HTML_URL_DERIVED) ? HTML_URL_PREFIX + fullName : htmlUrlValue;
+    }
+
     @JsonProperty("html_url")
-    private String htmlUrl;
+    public void setHtmlUrl(String htmlUrl) {
+        boolean derived = htmlUrl != null && fullName != null && htmlUrl.equals(HTML_URL_PREFIX + fullName);
+        setFlag(HTML_URL_DERIVED, derived);
+        this.htmlUrlValue = derived ? null : htmlUrl;
+    }
 
+    @ToString.Include(name = "cloneUrl")
     @JsonProperty("clone_url")
-    private String cloneUrl;
+    public String getCloneUrl() {
+        return hasFlag(CLONE_URL_DERIVED) ? HTML_URL_PREFIX + fullName + CLONE_URL_SUFFIX : cloneUrlValue;
+    }
 
-    private String language;
+    @JsonProperty("clone_url")
+    public void setCloneUrl(String cloneUrl) {
+        boolean derived = cloneUrl != null && fullName != null
+                && cloneUrl.equals(HTML_URL_PREFIX + fullName + CLONE_URL_SUFFIX);
+        setFlag(CLONE_URL_DERIVED, derived);
+        this.cloneUrlValue = derived ? null : cloneUrl;
+    }
+
+    @ToString.Include(name = "language")
+    public String getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(String language) {
+        this.language = StringDictionary.intern(language);
+    }
 
+    @ToString.Include(name = "stargazersCount")
     @JsonProperty("stargazers_count")
-    private Integer stargazersCount;
+    public Integer getStargazersCount() {
+        return fromInt(stargazersCountValue);
+    }
+
+    @JsonProperty("stargazers_count")
+    public void setStargazersCount(Integer stargazersCount) {
+        this.stargazersCountValue = toInt(stargazersCount);
+    }
+
+    @ToString.Include(name = "watchersCount")
+    @JsonProperty("watchers_count")
+    public Integer getWatchersCount() {
+        return fromInt(watchersCountValue);
+    }
 
     @JsonProperty("watchers_count")
-    private Integer watchersCount;
+    public void setWatchersCount(Integer watchersCount) {
+        this.watchersCountValue = toInt(watchersCount);
+    }
 
+    @ToString.Include(name = "forksCount")
     @JsonProperty("forks_count")
-    private Integer forksCount;
+    public Integer getForksCount() {
+        return fromInt(forksCountValue);
+    }
+
+    @JsonProperty("forks_count")
+    public void setForksCount(Integer forksCount) {
+        this.forksCountValue = toInt(forksCount);
+    }
+
+    @ToString.Include(name = "openIssuesCount")
+    @JsonProperty("open_issues_count")
+    public Integer getOpenIssuesCount() {
+        return fromInt(openIssuesCountValue);
+    }
 
     @JsonProperty("open_issues_count")
-    private Integer openIssuesCount;
+    public void setOpenIssuesCount(Integer openIssuesCount) {
+        this.openIssuesCountValue = toInt(openIssuesCount);
+    }
 
+    @ToString.Include(name = "defaultBranch")
     @JsonProperty("default_branch")
-    private String defaultBranch;
+    public String getDefaultBranch() {
+        return defaultBranch;
+    }
+
+    @JsonProperty("default_branch")
+    public void setDefaultBranch(String defaultBranch) {
+        this.defaultBranch = StringDictionary.intern(defaultBranch);
+    }
 
+    @ToString.Include(name = "createdAt")
     @JsonProperty("created_at")
-    private String createdAt;
+    public String getCreatedAt() {
+        return fromTimestamp(createdAtMillis, createdAtRaw);
+    }
+
+    @JsonProperty("created_at")
+    public void setCreatedAt(String createdAt) {
+        this.createdAtMillis = toEpochMillis(createdAt);
+        this.createdAtRaw = toRawTimestamp(createdAt, createdAtMillis);
+    }
+
+    @ToString.Include(name = "updatedAt")
+    @JsonProperty("updated_at")
+    public String getUpdatedAt() {
+        return fromTimestamp(updatedAtMillis, updatedAtRaw);
+    }
 
     @JsonProperty("updated_at")
-    private String updatedAt;
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAtMillis = toEpochMillis(updatedAt);
+        this.updatedAtRaw = toRawTimestamp(updatedAt, updatedAtMillis);
+    }
 
+    @ToString.Include(name = "pushedAt")
     @JsonProperty("pushed_at")
-    private String pushedAt;
+    public String getPushedAt() {
+        return fromTimestamp(pushedAtMillis, pushedAtRaw);
+    }
 
-    private Boolean fork;
+    @JsonProperty("pushed_at")
+    public void setPushedAt(String pushedAt) {
+        this.pushedAtMillis = toEpochMillis(pushedAt);
+        this.pushedAtRaw = toRawTimestamp(pushedAt, pushedAtMillis);
+    }
+
+    @ToString.Include(name = "fork")
+    public Boolean getFork() {
+        return hasFlag(FORK_SET) ? hasFlag(FORK) : null;
+    }
 
+    public void setFork(Boolean fork) {
+        setFlag(FORK_SET, fork != null);
+        setFlag(FORK, Boolean.TRUE.equals(fork));
+    }
+
+    @ToString.Include(name = "isPrivate")
     @JsonProperty("private")
-    private Boolean isPrivate;
+    public Boolean getIsPrivate() {
+        return hasFlag(PRIVATE_SET) ? hasFlag(PRIVATE) : null;
+    }
+
+    @JsonProperty("private")
+    public void setIsPrivate(Boolean isPrivate) {
+        setFlag(PRIVATE_SET, isPrivate != null);
+        setFlag(PRIVATE, Boolean.TRUE.equals(isPrivate));
+    }
+
+    private boolean hasFlag(byte flag) {
+        return (flags & flag) != 0;
+    }
+
+    private void setFlag(byte flag, boolean value) {
+        flags = (byte) (value ? flags | flag : flags & ~flag);
+    }
 }
@@ -1,24 +1,56 @@
 package com.globaltrend.api.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.globaltrend.api.util.StringDictionary;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+import static com.globaltrend.api.model.CompactFields.NO_INT;
+import static com.globaltrend.api.model.CompactFields.NO_LONG;
+import static com.globaltrend.api.model.CompactFields.fromInt;
+import static com.globaltrend.api.model.CompactFields.fromLong;
+import static com.globaltrend.api.model.CompactFields.fromTimestamp;
+import static com.globaltrend.api.model.CompactFields.toEpochMillis;
+import static com.globaltrend.api.model.CompactFields.toInt;
+import static com.globaltrend.api.model.CompactFields.toLong;
+import static com.globaltrend.api.model.CompactFields.toRawTimestamp;
 
 /**
  * GitHub User Model
  * Represents a user from GitHub API
+ * 
+ * Stored compactly since users are held in caches in large numbers:
+ * numbers and timestamps are primitives, low-cardinality strings are
+ * shared, and the avatar and profile URLs are derived from the id and
+ * login whenever they follow GitHub's usual pattern. The JSON form is
+ * unchanged: timestamps that do not round-trip through millis are kept as
+ * text.
  */
-@Data
-public class GitHubUser {
+@EqualsAndHashCode
+@ToString(onlyExplicitlyIncluded = true)
+@JsonPropertyOrder({"id", "login", "avatar_url", "html_url", "name", "company", "blog", "location", "email",
+        "bio", "public_repos", "public_gists", "followers", "following", "created_at", "updated_at"})
+public class GitHubUser implements Serializable {
+
+    private static final String HTML_URL_PREFIX = "https://github.com/";
+    private static final String AVATAR_URL_PREFIX = "https://avatars.githubusercontent.com/u/";
+    private static final String AVATAR_URL_SUFFIX = "?v=4";
+
+    private static final byte AVATAR_URL_DERIVED = 1;
+    private static final byte HTML_URL_DERIVED = 1 << 1;
 
-    private Long id;
+    private long idValue = NO_LONG;
 
     private String login;
 
-    @JsonProperty("avatar_url")
-    private String avatarUrl;
+    /** Null when derived from the id */
+    private String avatarUrlValue;
 
-    @JsonProperty("html_url")
-    private String htmlUrl;
+    /** Null when derived from the login */
+    private String htmlUrlValue;
 
     private String name;
 
@@ -32,19 +64,197 @@ public class GitHubUser {
 
     private String bio;
 
+    private int publicReposValue = NO_INT;
+
+    private int publicGistsValue = NO_INT;
+
+    private int followersValue = NO_INT;
+
+    private int followingValue = NO_INT;
+
+    private long createdAtMillis = NO_LONG;
+
+    private long updatedAtMillis = NO_LONG;
+
+    /** Null unless the timestamp could not be stored as millis */
+    private String createdAtRaw;
+
+    private String updatedAtRaw;
+
+    private byte flags;
+
+    @ToString.Include(name = "id")
+    public Long getId() {
+        return fromLong(idValue);
+    }
+
+    public void setId(Long id) {
+        String avatarUrl = getAvatarUrl();
+        this.idValue = toLong(id);
+        setAvatarUrl(avatarUrl);
+    }
+
+    @ToString.Include(name = "login")
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        String htmlUrl = getHtmlUrl();
+        this.login = login;
+        setHtmlUrl(htmlUrl);
+    }
+
+    @ToString.Include(name = "avatarUrl")
+    @JsonProperty("avatar_url")
+    public String getAvatarUrl() {
+        return hasFlag(AVATAR_URL_DERIVED) ? AVATAR_URL_PREFIX + idValue + AVATAR_URL_SUFFIX : avatarUrlValue;
+    }
+
+    @JsonProperty("avatar_url")
+    public void setAvatarUrl(String avatarUrl) {
+        boolean derived = avatarUrl != null && idValue != NO_LONG
+                && avatarUrl.equals(AVATAR_URL_PREFIX + idValue + AVATAR_URL_SUFFIX);
+        setFlag(AVATAR_URL_DERIVED, derived);
+        this.avatarUrlValue = derived ? null : avatarUrl;
+    }
+
+    @ToString.Include(name = "htmlUrl")
+    @JsonProperty("html_url")
+    public String getHtmlUrl() {
+        return hasFlag(HTML_URL_DERIVED) ? HTML_URL_PREFIX + login : htmlUrlValue;
+    }
+
+    @JsonProperty("html_url")
+    public void setHtmlUrl(String htmlUrl) {
+        boolean derived = htmlUrl != null && login != null && htmlUrl.equals(HTML_URL_PREFIX + login);
+        setFlag(HTML_URL_DERIVED, derived);
+        this.htmlUrlValue = derived ? null : htmlUrl;
+    }
+
+    @ToString.Include(name = "name")
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @ToString.Include(name = "company")
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = StringDictionary.intern(company);
+    }
+
+    @ToString.Include(name = "blog")
+    public String getBlog() {
+        return blog;
+    }
+
+    public void setBlog(String blog) {
+        this.blog = blog;
+    }
+
+    @ToString.Include(name = "location")
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = StringDictionary.intern(location);
+    }
+
+    @ToString.Include(name = "email")
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    @ToString.Include(name = "bio")
+    public String getBio() {
+        return bio;
+    }
+
+    public void setBio(String bio) {
+        this.bio = bio;
+    }
+
+    @ToString.Include(name = "publicRepos")
     @JsonProperty("public_repos")
-    private Integer publicRepos;
+    public Integer getPublicRepos() {
+        return fromInt(publicReposValue);
+    }
+
+    @JsonProperty("public_repos")
+    public void setPublicRepos(Integer publicRepos) {
+        this.publicReposValue = toInt(publicRepos);
+    }
+
+    @ToString.Include(name = "publicGists")
+    @JsonProperty("public_gists")
+    public Integer getPublicGists() {
+        return fromInt(publicGistsValue);
+    }
 
     @JsonProperty("public_gists")
-    private Integer publicGists;
+    public void setPublicGists(Integer publicGists) {
+        this.publicGistsValue = toInt(publicGists);
+    }
+
+    @ToString.Include(name = "followers")
+    public Integer getFollowers() {
+        return fromInt(followersValue);
+    }
+
+    public void setFollowers(Integer followers) {
+        this.followersValue = toInt(followers);
+    }
 
-    private Integer followers;
+    @ToString.Include(name = "following")
+    public Integer getFollowing() {
+        return fromInt(followingValue);
+    }
 
-    private Integer following;
+    public void setFollowing(Integer following) {
+        this.followingValue = toInt(following);
+    }
 
+    @ToString.Include(name = "createdAt")
     @JsonProperty("created_at")
-    private String createdAt;
+    public String getCreatedAt() {
+        return fromTimestamp(createdAtMillis, createdAtRaw);
+    }
+
+    @JsonProperty("created_at")
+    public void setCreatedAt(String createdAt) {
+        this.createdAtMillis = toEpochMillis(createdAt);
+        this.createdAtRaw = toRawTimestamp(createdAt, createdAtMillis);
+    }
+
+    @ToString.Include(name = "updatedAt")
+    @JsonProperty("updated_at")
+    public String getUpdatedAt() {
+        return fromTimestamp(updatedAtMillis, updatedAtRaw);
+    }
 
     @JsonProperty("updated_at")
-    private String updatedAt;
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAtMillis = toEpochMillis(updatedAt);
+        this.updatedAtRaw = toRawTimestamp(updatedAt, updatedAtMillis);
+    }
+
+    private boolean hasFlag(byte flag) {
+        return (flags & flag) != 0;
+    }
+
+    private void setFlag(byte flag, boolean value) {
+        flags = (byte) (value ? flags | flag : flags & ~flag);
+    }
 }
@@ -1,13 +1,16 @@
 package com.globaltrend.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
+import java.io.Serializable;
+
 /**
  * Post Model for JSONPlaceholder API
  * Represents a blog post
  */
 @Data
-public class Post {
+public class Post implements Serializable {
 
     private Long id;
 
@@ -16,4 +19,24 @@ public class Post {
     private String title;
 
     private String body;
+
+    /**
+     * Author, only present when requested with expand=author
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private User author;
+
+    /**
+     * Copy of this post with the author embedded; posts held in the
+     * snapshot are shared and never modified
+     */
+    public Post withAuthor(User author) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(userId);
+        post.setTitle(title);
+        post.setBody(body);
+        post.setAuthor(author);
+        return post;
+    }
 }
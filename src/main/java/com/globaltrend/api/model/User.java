@@ -2,12 +2,14 @@ package com.globaltrend.api.model;
 
 import lombok.Data;
 
+import java.io.Serializable;
+
 /**
  * User Model for JSONPlaceholder API
  * Represents a user with address and company information
  */
 @Data
-public class User {
+public class User implements Serializable {
 
     private Long id;
 
@@ -26,7 +28,7 @@ public class User {
     private Company company;
 
     @Data
-    public static class Address {
+    public static class Address implements Serializable {
         private String street;
         private String suite;
         private String city;
@@ -34,14 +36,14 @@ public class User {
         private Geo geo;
 
         @Data
-        public static class Geo {
+        public static class Geo implements Serializable {
             private String lat;
             private String lng;
         }
     }
 
     @Data
-    public static class Company {
+    public static class Company implements Serializable {
         private String name;
         private String catchPhrase;
         private String bs;
@@ -0,0 +1,48 @@
+package com.globaltrend.api.ratelimit;
+
+import com.globaltrend.api.exception.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate Limit Interceptor
+ * Applies the per-client rate limit before a request reaches a controller.
+ * Every request is limited by its IP; a request carrying an issued API key
+ * is additionally limited by that key, wherever it comes from.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : RateLimiter.UNMATCHED_ROUTE;
+
+        long waitNanos = rateLimiter.tryAcquire(route, request.getRemoteAddr(), false);
+
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        if (waitNanos == 0 && apiKey != null && properties.getApiKeys().contains(apiKey)) {
+            waitNanos = rateLimiter.tryAcquire(route, apiKey, true);
+        }
+
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new RateLimitExceededException(retryAfterSeconds);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package com.globaltrend.api.ratelimit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rate Limit Properties
+ * Bound from api.rate-limit.* in application.yml; invalid limits fail startup
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "api.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Request header identifying API-key clients; others are limited per IP */
+    private String apiKeyHeader = "X-API-Key";
+
+    /**
+     * Issued API keys. A header value not in this set is ignored, so made-up
+     * keys neither earn the API-key limits nor create buckets.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /** Upper bound on tracked clients; beyond it new clients share one bucket per route */
+    @Positive
+    private int maxClients = 100_000;
+
+    @Valid
+    private Limit defaultIp = new Limit(20, 40);
+
+    @Valid
+    private Limit defaultApiKey = new Limit(50, 100);
+
+    /** Per-route overrides, matched in order against the handler's path pattern */
+    @Valid
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        @Positive
+        private double requestsPerSecond;
+        @PositiveOrZero
+        private int burst;
+    }
+
+    @Data
+    public static class Route {
+        private String pattern;
+        @Valid
+        private Limit ip;
+        @Valid
+        private Limit apiKey;
+    }
+}
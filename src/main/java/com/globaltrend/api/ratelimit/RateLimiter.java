@@ -0,0 +1,102 @@
+package com.globaltrend.api.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate Limiter
+ * Holds one token bucket per (route, client) in a bounded map. Buckets that
+ * have refilled completely are swept periodically, since a full bucket is
+ * indistinguishable from a missing one.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    /**
+     * Route of requests no handler pattern matched. They share this one key
+     * rather than their raw URIs, which would add a route entry per URL.
+     */
+    public static final String UNMATCHED_ROUTE = "(unmatched)";
+
+    private final RateLimitProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, RouteLimits> routeLimits = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> overflowBuckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Take a token for a request
+     * 
+     * @param routePattern Handler path pattern, e.g. /api/github/users/{username}
+     * @param clientId     Client identity (API key or IP address)
+     * @param apiKey       Whether the client identified with an API key
+     * @return 0 if allowed, otherwise nanoseconds until the client may retry
+     */
+    public long tryAcquire(String routePattern, String clientId, boolean apiKey) {
+        RouteLimits limits = routeLimits.computeIfAbsent(routePattern, this::resolveLimits);
+        RateLimitProperties.Limit limit = apiKey ? limits.apiKey : limits.ip;
+        String bucketKey = (apiKey ? limits.apiKeyId : limits.ipId) + clientId;
+        long now = System.nanoTime();
+
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxClients()) {
+                bucket = overflowBuckets.computeIfAbsent(apiKey ? limits.apiKeyId : limits.ipId,
+                        key -> new TokenBucket(limit, now));
+            } else {
+                bucket = buckets.computeIfAbsent(bucketKey, key -> new TokenBucket(limit, now));
+            }
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * Drop buckets that have fully refilled
+     */
+    @Scheduled(fixedDelayString = "${api.rate-limit.sweep-interval:30000}")
+    public void sweepIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        log.debug("Rate limiter swept {} idle buckets, {} remaining", before - buckets.size(), buckets.size());
+    }
+
+    private RouteLimits resolveLimits(String routePattern) {
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (pathMatcher.match(route.getPattern(), routePattern)) {
+                return new RouteLimits(route.getPattern(),
+                        route.getIp() != null ? route.getIp() : properties.getDefaultIp(),
+                        route.getApiKey() != null ? route.getApiKey() : properties.getDefaultApiKey());
+            }
+        }
+        return new RouteLimits("*", properties.getDefaultIp(), properties.getDefaultApiKey());
+    }
+
+    /**
+     * Limits resolved for one handler pattern. Routes sharing a configured
+     * pattern share the same buckets.
+     */
+    private static final class RouteLimits {
+        private final String ipId;
+        private final String apiKeyId;
+        private final RateLimitProperties.Limit ip;
+        private final RateLimitProperties.Limit apiKey;
+
+        private RouteLimits(String pattern, RateLimitProperties.Limit ip, RateLimitProperties.Limit apiKey) {
+            this.ipId = pattern + "|ip|";
+            this.apiKeyId = pattern + "|key|";
+            this.ip = ip;
+            this.apiKey = apiKey;
+        }
+    }
+}
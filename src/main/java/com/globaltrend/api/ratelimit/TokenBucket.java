@@ -0,0 +1,52 @@
+package com.globaltrend.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-Free Token Bucket
+ * Implemented as a GCRA (generic cell rate algorithm): the whole bucket
+ * state is a single "theoretical arrival time" updated with CAS, so
+ * acquiring a token is one volatile read and, usually, one CAS.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(RateLimitProperties.Limit limit, long nowNanos) {
+        if (!(limit.getRequestsPerSecond() > 0)) {
+            throw new IllegalArgumentException("requestsPerSecond must be positive: " + limit.getRequestsPerSecond());
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / limit.getRequestsPerSecond());
+        this.capacityNanos = emissionIntervalNanos * Math.max(1, limit.getBurst());
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Try to take one token
+     * 
+     * @param nowNanos Current {@link System#nanoTime()}
+     * @return 0 if the token was granted, otherwise nanoseconds until one is available
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long excess = next - nowNanos - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return true if the bucket is full again, i.e. dropping it changes nothing
+     */
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
@@ -0,0 +1,80 @@
+package com.globaltrend.api.recording;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exchange Recorder
+ * Appends upstream exchanges to one recording file. Each entry is encoded
+ * in memory first and only appended once complete, so an exchange that
+ * cannot be encoded (e.g. a header value over 64KB) leaves no partial entry
+ * behind, and an interrupted run still leaves a usable recording.
+ */
+@Slf4j
+class ExchangeRecorder implements Closeable {
+
+    private final Path file;
+    private final OutputStream out;
+    private int entries;
+
+    ExchangeRecorder(Path file) {
+        this.file = file;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            this.out = Files.newOutputStream(file);
+            new DataOutputStream(out).writeInt(RecordingFormat.MAGIC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create recording " + file, e);
+        }
+        log.info("Recording upstream exchanges to {}", file);
+    }
+
+    synchronized void record(String method, String pathAndQuery, int status, HttpHeaders headers,
+                             byte[] body, long latencyNanos) {
+        ByteArrayOutputStream entry = new ByteArrayOutputStream(body.length + 512);
+        DataOutputStream data = new DataOutputStream(entry);
+        try {
+            data.writeUTF(method);
+            data.writeUTF(pathAndQuery);
+            data.writeShort(status);
+            data.writeLong(latencyNanos);
+
+            List<Map.Entry<String, List<String>>> kept = headers.entrySet().stream()
+                    .filter(header -> !RecordingFormat.SKIPPED_HEADERS.contains(header.getKey().toLowerCase()))
+                    .toList();
+            data.writeShort(kept.size());
+            for (Map.Entry<String, List<String>> header : kept) {
+                data.writeUTF(header.getKey());
+                data.writeShort(header.getValue().size());
+                for (String value : header.getValue()) {
+                    data.writeUTF(value);
+                }
+            }
+
+            data.writeInt(body.length);
+            data.write(body);
+
+            entry.writeTo(out);
+            entries++;
+        } catch (IOException e) {
+            log.warn("Could not record {} {} to {}: {}", method, pathAndQuery, file, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+        log.info("Recorded {} upstream exchanges to {}", entries, file);
+    }
+}
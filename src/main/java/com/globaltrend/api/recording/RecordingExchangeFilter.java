@@ -0,0 +1,53 @@
+package com.globaltrend.api.recording;
+
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Recording Exchange Filter
+ * Buffers each upstream response body, records the exchange, and hands
+ * the caller an equivalent response built from the buffered body. Bodies
+ * are joined from the raw buffers, so the codecs' in-memory size limit
+ * does not apply.
+ */
+class RecordingExchangeFilter implements ExchangeFilterFunction {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    private final ExchangeRecorder recorder;
+
+    RecordingExchangeFilter(ExchangeRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(request).flatMap(response -> DataBufferUtils
+                    .join(response.body(BodyExtractors.toDataBuffers()))
+                    .map(buffer -> {
+                        byte[] body = new byte[buffer.readableByteCount()];
+                        buffer.read(body);
+                        DataBufferUtils.release(buffer);
+                        return body;
+                    })
+                    .defaultIfEmpty(EMPTY_BODY)
+                    .map(body -> {
+                        recorder.record(request.method().name(), RecordingFormat.pathAndQuery(request),
+                                response.statusCode().value(), response.headers().asHttpHeaders(),
+                                body, System.nanoTime() - start);
+                        return response.mutate()
+                                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                                .build();
+                    }));
+        });
+    }
+}
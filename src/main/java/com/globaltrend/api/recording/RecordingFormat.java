@@ -0,0 +1,50 @@
+package com.globaltrend.api.recording;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+
+import java.net.URI;
+import java.util.Set;
+
+/**
+ * Recording File Format
+ * 
+ * One file per upstream client: the magic header, then one entry per
+ * exchange, written with {@link java.io.DataOutputStream}:
+ * 
+ * <pre>
+ * UTF   method
+ * UTF   path and query
+ * short status
+ * long  latency (nanoseconds, request sent to last body byte)
+ * short header count, then per header: UTF name, short value count, UTF values
+ * int   body length, then the body bytes
+ * </pre>
+ * 
+ * Bodies are stored raw so replay can hand out slices of the mapped file.
+ */
+final class RecordingFormat {
+
+    static final int MAGIC = 0x47545231; // "GTR1"
+
+    static final String FILE_SUFFIX = ".rec";
+
+    /** Hop-by-hop headers, meaningless once the connection is gone */
+    static final Set<String> SKIPPED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding");
+
+    private RecordingFormat() {
+    }
+
+    /**
+     * Lookup key of an exchange. Host is left out so a recording replays
+     * regardless of the configured base URL.
+     */
+    static String key(String method, String pathAndQuery) {
+        return method + " " + pathAndQuery;
+    }
+
+    static String pathAndQuery(ClientRequest request) {
+        URI url = request.url();
+        String path = url.getRawPath() == null || url.getRawPath().isEmpty() ? "/" : url.getRawPath();
+        return url.getRawQuery() != null ? path + "?" + url.getRawQuery() : path;
+    }
+}
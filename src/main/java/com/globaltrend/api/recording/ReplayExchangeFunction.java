@@ -0,0 +1,180 @@
+package com.globaltrend.api.recording;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replay Exchange Function
+ * Answers WebClient requests from a recording instead of the network. The
+ * file is memory-mapped once; statuses and headers are decoded up front and
+ * bodies are served as slices of the mapping, so a replayed response costs
+ * no I/O and no copy. Exchanges recorded several times for the same request
+ * are replayed in recorded order, wrapping around.
+ */
+@Slf4j
+class ReplayExchangeFunction implements ExchangeFunction {
+
+    private final Path file;
+    private final MappedByteBuffer mapped;
+    private final Map<String, Recorded> exchanges = new HashMap<>();
+    private final boolean replayLatency;
+    private final ExchangeStrategies strategies = ExchangeStrategies.withDefaults();
+
+    ReplayExchangeFunction(Path file, boolean replayLatency) {
+        this.file = file;
+        this.replayLatency = replayLatency;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Recording too large to map: " + file);
+            }
+            this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open recording " + file, e);
+        }
+
+        int count = index();
+        log.info("Replaying {} upstream exchanges ({} distinct requests) from {}{}",
+                count, exchanges.size(), file, replayLatency ? " with recorded latency" : "");
+    }
+
+    @Override
+    public Mono<ClientResponse> exchange(ClientRequest request) {
+        String key = RecordingFormat.key(request.method().name(), RecordingFormat.pathAndQuery(request));
+        Recorded recorded = exchanges.get(key);
+        if (recorded == null) {
+            return Mono.error(new IllegalStateException("No recorded exchange for " + key + " in " + file));
+        }
+
+        RecordedResponse response = recorded.next();
+        Mono<ClientResponse> replayed = Mono.fromSupplier(() -> ClientResponse
+                .create(HttpStatusCode.valueOf(response.status()), strategies)
+                .headers(headers -> headers.addAll(response.headers()))
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance
+                        .wrap(mapped.slice(response.bodyOffset(), response.bodyLength()))))
+                .build());
+
+        return replayLatency
+                ? Mono.delay(Duration.ofNanos(response.latencyNanos())).then(replayed)
+                : replayed;
+    }
+
+    /**
+     * Decode every entry header with {@link DataInputStream}, the counterpart
+     * of how they were written (strings are modified UTF-8), and skip over
+     * the bodies in the mapping
+     */
+    private int index() {
+        ByteBuffer buffer = mapped.duplicate();
+        if (buffer.remaining() < Integer.BYTES || buffer.getInt() != RecordingFormat.MAGIC) {
+            throw new IllegalStateException("Not a recording file: " + file);
+        }
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(buffer));
+
+        int count = 0;
+        try {
+            while (buffer.hasRemaining()) {
+                String method = in.readUTF();
+                String pathAndQuery = in.readUTF();
+                int status = in.readUnsignedShort();
+                long latencyNanos = in.readLong();
+
+                HttpHeaders headers = new HttpHeaders();
+                int headerCount = in.readUnsignedShort();
+                for (int i = 0; i < headerCount; i++) {
+                    String name = in.readUTF();
+                    int valueCount = in.readUnsignedShort();
+                    for (int j = 0; j < valueCount; j++) {
+                        headers.add(name, in.readUTF());
+                    }
+                }
+
+                int bodyLength = in.readInt();
+                int bodyOffset = buffer.position();
+                if (bodyLength > buffer.remaining()) {
+                    throw new EOFException();
+                }
+                buffer.position(bodyOffset + bodyLength);
+
+                exchanges.computeIfAbsent(RecordingFormat.key(method, pathAndQuery), key -> new Recorded())
+                        .responses.add(new RecordedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers),
+                                latencyNanos, bodyOffset, bodyLength));
+                count++;
+            }
+        } catch (EOFException e) {
+            log.warn("Ignoring truncated entry at the end of {}", file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read recording " + file, e);
+        }
+        return count;
+    }
+
+    /**
+     * Reads a buffer from its current position, advancing it, so entry
+     * offsets can be taken straight from the buffer
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+    }
+
+    private static final class Recorded {
+
+        private final List<RecordedResponse> responses = new ArrayList<>(1);
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        RecordedResponse next() {
+            if (responses.size() == 1) {
+                return responses.get(0);
+            }
+            return responses.get(Math.floorMod(cursor.getAndIncrement(), responses.size()));
+        }
+    }
+
+    private record RecordedResponse(int status, HttpHeaders headers, long latencyNanos,
+                                    int bodyOffset, int bodyLength) {
+    }
+}
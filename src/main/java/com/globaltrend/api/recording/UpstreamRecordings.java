@@ -0,0 +1,85 @@
+package com.globaltrend.api.recording;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Upstream Recordings
+ * 
+ * Record/replay of upstream API traffic for reproducible benchmarks.
+ * In record mode every exchange of a client is captured to
+ * {@code <directory>/<client>.rec}; in replay mode the client never touches
+ * the network and is answered from that file. Off by default.
+ */
+@Component
+@Slf4j
+public class UpstreamRecordings {
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    private final Mode mode;
+    private final Path directory;
+    private final boolean replayLatency;
+    private final List<ExchangeRecorder> recorders = new ArrayList<>();
+
+    public UpstreamRecordings(
+            @Value("${api.upstream-recording.mode:off}") String mode,
+            @Value("${api.upstream-recording.directory:recordings}") Path directory,
+            @Value("${api.upstream-recording.replay-latency:false}") boolean replayLatency) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.directory = directory;
+        this.replayLatency = replayLatency;
+    }
+
+    /**
+     * Hook a client builder up for the configured mode
+     * 
+     * @param builder WebClient builder of the client
+     * @param client  Client name, used as the recording file name
+     * @return The same builder
+     */
+    public synchronized WebClient.Builder apply(WebClient.Builder builder, String client) {
+        Path file = directory.resolve(client + RecordingFormat.FILE_SUFFIX);
+
+        switch (mode) {
+            case RECORD -> {
+                ExchangeRecorder recorder = new ExchangeRecorder(file);
+                recorders.add(recorder);
+                builder.filter(new RecordingExchangeFilter(recorder));
+            }
+            case REPLAY -> {
+                if (!Files.isReadable(file)) {
+                    throw new IllegalStateException("Replay mode is on but there is no recording at " + file);
+                }
+                builder.exchangeFunction(new ReplayExchangeFunction(file, replayLatency));
+            }
+            case OFF -> {
+            }
+        }
+        return builder;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (ExchangeRecorder recorder : recorders) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                log.warn("Could not close recording: {}", e.getMessage());
+            }
+        }
+        recorders.clear();
+    }
+}
@@ -1,20 +1,32 @@
 package com.globaltrend.api.service;
 
+import com.globaltrend.api.cache.NegativeCache;
+import com.globaltrend.api.cache.RangeSegmentCache;
+import com.globaltrend.api.cache.TwoTierCache;
 import com.globaltrend.api.exception.ApiIntegrationException;
 import com.globaltrend.api.exception.ResourceNotFoundException;
+import com.globaltrend.api.model.CursorPage;
 import com.globaltrend.api.model.GitHubRepository;
 import com.globaltrend.api.model.GitHubUser;
+import com.globaltrend.api.util.GitHubPageParams;
+import com.globaltrend.api.util.PageCursor;
+import com.globaltrend.api.util.UpstreamResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 /**
  * GitHub API Service
@@ -26,45 +38,88 @@ import java.util.List;
 public class GitHubApiService {
 
     private final WebClient githubWebClient;
+    private final NegativeCache negativeCache;
+    private final RangeSegmentCache<GitHubUser> userSegments;
+    private final CacheManager cacheManager;
     private final int timeout;
 
+    private volatile PolledUsers lastUsersPoll;
+
     public GitHubApiService(
             @Qualifier("githubWebClient") WebClient githubWebClient,
+            NegativeCache negativeCache,
+            RangeSegmentCache<GitHubUser> githubUserSegments,
+            CacheManager cacheManager,
             @Value("${api.github.timeout}") int timeout) {
         this.githubWebClient = githubWebClient;
+        this.negativeCache = negativeCache;
+        this.userSegments = githubUserSegments;
+        this.cacheManager = cacheManager;
         this.timeout = timeout;
     }
 
     /**
      * Fetch GitHub users with pagination
+     * Served from the user segment cache, which only goes upstream for the
+     * parts of the id range it has not seen yet
      * 
      * @param since   User ID to start from (for pagination)
      * @param perPage Number of users per page
-     * @return List of GitHub users
+     * @return Page of GitHub users with the cursor of the next page
      */
-    @Cacheable(value = "github-users", key = "#since + '_' + #perPage")
-    public List<GitHubUser> getUsers(int since, int perPage) {
-        log.info("Fetching GitHub users with since={} and perPage={}", since, perPage);
+    public CursorPage<GitHubUser> getUsers(long since, int perPage) {
+        List<GitHubUser> users = userSegments.getWindow(since, perPage, this::fetchUsers);
+        return toUsersPage(users, perPage);
+    }
+
+    /**
+     * Re-fetch the first page of GitHub users, for periodic polling. Sent as
+     * a conditional request with the ETag of the previous poll; GitHub does
+     * not count a 304 Not Modified against the rate limit, and the previous
+     * page is returned unchanged. A changed page replaces the cached range.
+     * 
+     * @param perPage Number of users per page
+     * @return Current first page of GitHub users
+     */
+    public CursorPage<GitHubUser> pollUsers(int perPage) {
+        PolledUsers previous = lastUsersPoll;
+        String etag = previous != null && previous.perPage() == perPage ? previous.etag() : null;
+        log.debug("Polling GitHub users with perPage={} (etag={})", perPage, etag);
 
         try {
-            return githubWebClient.get()
+            ResponseEntity<List<GitHubUser>> response = githubWebClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/users")
-                            .queryParam("since", since)
                             .queryParam("per_page", perPage)
                             .build())
-                    .retrieve()
-                    .bodyToFlux(GitHubUser.class)
+                    .headers(headers -> {
+                        if (etag != null) {
+                            headers.setIfNoneMatch(etag);
+                        }
+                    })
+                    .exchangeToMono(r -> r.toEntityList(GitHubUser.class))
                     .timeout(Duration.ofMillis(timeout))
-                    .collectList()
                     .block();
 
-        } catch (WebClientResponseException e) {
-            log.error("GitHub API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ApiIntegrationException("Failed to fetch users from GitHub: " + e.getStatusText(), e);
+            if (response != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()
+                    && etag != null) {
+                return toUsersPage(previous.users(), perPage);
+            }
+            if (response == null || !response.getStatusCode().is2xxSuccessful()) {
+                throw new ApiIntegrationException("Failed to poll users from GitHub: "
+                        + (response != null ? response.getStatusCode() : "no response"));
+            }
+
+            List<GitHubUser> users = response.getBody() != null ? response.getBody() : List.of();
+            userSegments.refresh(0, perPage, (since, count) -> users);
+            lastUsersPoll = new PolledUsers(perPage, response.getHeaders().getETag(), users);
+            return toUsersPage(users, perPage);
+
+        } catch (ApiIntegrationException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error fetching GitHub users", e);
-            throw new ApiIntegrationException("Failed to fetch users from GitHub: " + e.getMessage(), e);
+            log.error("Error polling GitHub users", e);
+            throw new ApiIntegrationException("Failed to poll users from GitHub: " + e.getMessage(), e);
         }
     }
 
@@ -76,16 +131,14 @@ public class GitHubApiService {
      */
     @Cacheable(value = "github-users", key = "#username")
     public GitHubUser getUserByUsername(String username) {
-        log.info("Fetching GitHub user: {}", username);
+        negativeCache.throwIfNotFound("github-users", username);
+        log.debug("Fetching GitHub user: {}", username);
 
         try {
             GitHubUser user = githubWebClient.get()
                     .uri("/users/{username}", username)
-                    .retrieve()
-                    .bodyToMono(GitHubUser.class)
+                    .exchangeToMono(response -> UpstreamResponses.bodyOrEmptyIfNotFound(response, GitHubUser.class))
                     .timeout(Duration.ofMillis(timeout))
-                    .onErrorResume(WebClientResponseException.NotFound.class,
-                            error -> Mono.error(new ResourceNotFoundException("User not found: " + username)))
                     .block();
 
             if (user == null) {
@@ -95,6 +148,7 @@ public class GitHubApiService {
             return user;
 
         } catch (ResourceNotFoundException e) {
+            negativeCache.put("github-users", username, e);
             throw e;
         } catch (WebClientResponseException e) {
             log.error("GitHub API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
@@ -111,28 +165,36 @@ public class GitHubApiService {
      * @param username GitHub username
      * @param page     Page number (starts from 1)
      * @param perPage  Number of repos per page
-     * @return List of repositories
+     * @return Page of repositories with the cursor of the next page
      */
     @Cacheable(value = "github-repos", key = "#username + '_' + #page + '_' + #perPage")
-    public List<GitHubRepository> getUserRepositories(String username, int page, int perPage) {
-        log.info("Fetching repositories for user: {} (page={}, perPage={})", username, page, perPage);
+    public CursorPage<GitHubRepository> getUserRepositories(String username, int page, int perPage) {
+        negativeCache.throwIfNotFound("github-repos", username);
+        log.debug("Fetching repositories for user: {} (page={}, perPage={})", username, page, perPage);
 
         try {
-            return githubWebClient.get()
+            ResponseEntity<List<GitHubRepository>> response = githubWebClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/users/{username}/repos")
                             .queryParam("page", page)
                             .queryParam("per_page", perPage)
                             .queryParam("sort", "updated")
                             .build(username))
-                    .retrieve()
-                    .bodyToFlux(GitHubRepository.class)
+                    .exchangeToMono(clientResponse ->
+                            UpstreamResponses.entityListOrEmptyIfNotFound(clientResponse, GitHubRepository.class))
                     .timeout(Duration.ofMillis(timeout))
-                    .collectList()
                     .block();
 
-        } catch (WebClientResponseException.NotFound e) {
-            throw new ResourceNotFoundException("User not found: " + username);
+            if (response == null) {
+                throw new ResourceNotFoundException("User not found: " + username);
+            }
+
+            return toCursorPage(response);
+
+        } catch (ResourceNotFoundException e) {
+            // Keyed by username alone: if the user does not exist, no page of theirs does
+            negativeCache.put("github-repos", username, e);
+            throw e;
         } catch (WebClientResponseException e) {
             log.error("GitHub API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new ApiIntegrationException("Failed to fetch repositories from GitHub: " + e.getStatusText(), e);
@@ -141,4 +203,100 @@ public class GitHubApiService {
             throw new ApiIntegrationException("Failed to fetch repositories from GitHub: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Whether {@link #getUsers} would be answered without an upstream call
+     */
+    public boolean isUsersPageCached(long since, int perPage) {
+        return userSegments.covers(since, perPage);
+    }
+
+    /**
+     * Whether {@link #getUserByUsername} would be answered without an upstream call
+     */
+    public boolean isUserCached(String username) {
+        return isCachedLocally("github-users", username) || negativeCache.contains("github-users", username);
+    }
+
+    /**
+     * Whether {@link #getUserRepositories} would be answered without an upstream call
+     */
+    public boolean isRepositoriesPageCached(String username, int page, int perPage) {
+        return isCachedLocally("github-repos", username + "_" + page + "_" + perPage);
+    }
+
+    /**
+     * Local tier only: a shared-tier hit still costs a network round trip
+     */
+    private boolean isCachedLocally(String cacheName, String key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof TwoTierCache twoTierCache) {
+            return twoTierCache.isCachedLocally(key);
+        }
+        if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> local) {
+            return local.asMap().containsKey(key);
+        }
+        return cache != null && cache.getNativeCache() instanceof Map<?, ?> store && store.containsKey(key);
+    }
+
+    /**
+     * Fetch users with id greater than since from upstream
+     */
+    private List<GitHubUser> fetchUsers(long since, int perPage) {
+        log.debug("Fetching GitHub users with since={} and perPage={}", since, perPage);
+
+        try {
+            List<GitHubUser> users = githubWebClient.get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/users")
+                            .queryParam("since", since)
+                            .queryParam("per_page", perPage)
+                            .build())
+                    .retrieve()
+                    .bodyToFlux(GitHubUser.class)
+                    .timeout(Duration.ofMillis(timeout))
+                    .collectList()
+                    .block();
+
+            return users != null ? users : List.of();
+
+        } catch (WebClientResponseException e) {
+            log.error("GitHub API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new ApiIntegrationException("Failed to fetch users from GitHub: " + e.getStatusText(), e);
+        } catch (Exception e) {
+            log.error("Error fetching GitHub users", e);
+            throw new ApiIntegrationException("Failed to fetch users from GitHub: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Build a users page; the next cursor follows the same since=lastId
+     * scheme as GitHub's own Link header for /users
+     */
+    private static CursorPage<GitHubUser> toUsersPage(List<GitHubUser> users, int perPage) {
+        if (users.size() < perPage || users.isEmpty()) {
+            return new CursorPage<>(users, null);
+        }
+
+        long lastId = users.get(users.size() - 1).getId();
+        PageCursor next = PageCursor.of(Map.of(GitHubPageParams.CURSOR_SINCE, Long.toString(lastId),
+                GitHubPageParams.CURSOR_PER_PAGE, Integer.toString(perPage)));
+        return new CursorPage<>(users, next.encode());
+    }
+
+    /**
+     * Wrap a list response into a page, following GitHub's Link header
+     * to find the cursor of the next page
+     */
+    private static <T> CursorPage<T> toCursorPage(ResponseEntity<List<T>> response) {
+        if (response.getBody() == null) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        PageCursor next = PageCursor.fromLinkHeader(response.getHeaders().getFirst(HttpHeaders.LINK));
+        return new CursorPage<>(response.getBody(), next != null ? next.encode() : null);
+    }
+
+    private record PolledUsers(int perPage, String etag, List<GitHubUser> users) {
+    }
 }
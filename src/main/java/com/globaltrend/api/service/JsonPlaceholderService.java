@@ -1,39 +1,36 @@
 package com.globaltrend.api.service;
 
-import com.globaltrend.api.exception.ApiIntegrationException;
 import com.globaltrend.api.exception.ResourceNotFoundException;
+import com.globaltrend.api.exception.ServiceUnavailableException;
 import com.globaltrend.api.model.Post;
 import com.globaltrend.api.model.User;
+import com.globaltrend.api.sync.JsonPlaceholderSnapshot;
+import com.globaltrend.api.sync.JsonPlaceholderSyncEngine;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
-import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * JSONPlaceholder API Service
- * Handles integration with JSONPlaceholder API to fetch posts and users
- * Implements caching and error handling
+ * Serves posts and users from the local snapshot kept up to date by
+ * {@link JsonPlaceholderSyncEngine}; reads never call the upstream API
  */
 @Service
 @Slf4j
 public class JsonPlaceholderService {
 
-    private final WebClient jsonPlaceholderWebClient;
-    private final int timeout;
+    private final JsonPlaceholderSyncEngine syncEngine;
+    private final long notReadyRetryAfterSeconds;
 
     public JsonPlaceholderService(
-            @Qualifier("jsonPlaceholderWebClient") WebClient jsonPlaceholderWebClient,
-            @Value("${api.jsonplaceholder.timeout}") int timeout) {
-        this.jsonPlaceholderWebClient = jsonPlaceholderWebClient;
-        this.timeout = timeout;
+            JsonPlaceholderSyncEngine syncEngine,
+            @Value("${api.jsonplaceholder.sync.interval:60000}") long syncInterval) {
+        this.syncEngine = syncEngine;
+        this.notReadyRetryAfterSeconds = Math.max(1, Math.min(60, syncInterval / 1000));
     }
 
     /**
@@ -43,41 +40,48 @@ public class JsonPlaceholderService {
      * @param limit  Optional limit on number of results
      * @return List of posts
      */
-    @Cacheable(value = "posts", key = "#userId != null ? #userId : 'all'")
     public List<Post> getPosts(Long userId, Integer limit) {
-        log.info("Fetching posts (userId={}, limit={})", userId, limit);
-
-        try {
-            List<Post> posts = jsonPlaceholderWebClient.get()
-                    .uri(uriBuilder -> {
-                        var builder = uriBuilder.path("/posts");
-                        if (userId != null) {
-                            builder.queryParam("userId", userId);
-                        }
-                        return builder.build();
-                    })
-                    .retrieve()
-                    .bodyToFlux(Post.class)
-                    .timeout(Duration.ofMillis(timeout))
-                    .collectList()
-                    .block();
-
-            // Apply limit if specified
-            if (posts != null && limit != null && limit > 0) {
-                posts = posts.stream()
-                        .limit(limit)
-                        .collect(Collectors.toList());
+        log.debug("Fetching posts (userId={}, limit={})", userId, limit);
+
+        return getPosts(snapshot(), userId, limit);
+    }
+
+    /**
+     * Fetch posts with each post's author embedded. Authors are resolved
+     * in one pass over the distinct user IDs of the page and joined in
+     * memory, from the same snapshot as the posts.
+     * 
+     * @param userId Optional user ID filter
+     * @param limit  Optional limit on number of results
+     * @return List of posts with authors
+     */
+    public List<Post> getPostsWithAuthors(Long userId, Integer limit) {
+        log.debug("Fetching posts with authors (userId={}, limit={})", userId, limit);
+
+        JsonPlaceholderSnapshot snapshot = snapshot();
+        List<Post> posts = getPosts(snapshot, userId, limit);
+
+        Map<Long, User> authors = new HashMap<>();
+        for (Post post : posts) {
+            if (post.getUserId() != null) {
+                authors.computeIfAbsent(post.getUserId(), snapshot::getUser);
             }
+        }
 
-            return posts;
+        return posts.stream()
+                .map(post -> post.withAuthor(authors.get(post.getUserId())))
+                .toList();
+    }
+
+    private List<Post> getPosts(JsonPlaceholderSnapshot snapshot, Long userId, Integer limit) {
+        List<Post> posts = userId != null ? snapshot.getPostsByUserId(userId) : snapshot.getPosts();
 
-        } catch (WebClientResponseException e) {
-            log.error("JSONPlaceholder API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ApiIntegrationException("Failed to fetch posts: " + e.getStatusText(), e);
-        } catch (Exception e) {
-            log.error("Error fetching posts", e);
-            throw new ApiIntegrationException("Failed to fetch posts: " + e.getMessage(), e);
+        // Apply limit if specified
+        if (limit != null && limit > 0 && limit < posts.size()) {
+            posts = posts.subList(0, limit);
         }
+
+        return posts;
     }
 
     /**
@@ -86,35 +90,31 @@ public class JsonPlaceholderService {
      * @param id Post ID
      * @return Post details
      */
-    @Cacheable(value = "posts", key = "'post_' + #id")
     public Post getPostById(Long id) {
-        log.info("Fetching post with ID: {}", id);
-
-        try {
-            Post post = jsonPlaceholderWebClient.get()
-                    .uri("/posts/{id}", id)
-                    .retrieve()
-                    .bodyToMono(Post.class)
-                    .timeout(Duration.ofMillis(timeout))
-                    .onErrorResume(WebClientResponseException.NotFound.class,
-                            error -> Mono.error(new ResourceNotFoundException("Post not found with ID: " + id)))
-                    .block();
-
-            if (post == null) {
-                throw new ResourceNotFoundException("Post not found with ID: " + id);
-            }
+        log.debug("Fetching post with ID: {}", id);
 
-            return post;
+        Post post = snapshot().getPost(id);
+        if (post == null) {
+            throw new ResourceNotFoundException("Post not found with ID: " + id);
+        }
+        return post;
+    }
 
-        } catch (ResourceNotFoundException e) {
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("JSONPlaceholder API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ApiIntegrationException("Failed to fetch post: " + e.getStatusText(), e);
-        } catch (Exception e) {
-            log.error("Error fetching post", e);
-            throw new ApiIntegrationException("Failed to fetch post: " + e.getMessage(), e);
+    /**
+     * Fetch a single post by ID with its author embedded
+     * 
+     * @param id Post ID
+     * @return Post details with author
+     */
+    public Post getPostWithAuthorById(Long id) {
+        log.debug("Fetching post with author, ID: {}", id);
+
+        JsonPlaceholderSnapshot snapshot = snapshot();
+        Post post = snapshot.getPost(id);
+        if (post == null) {
+            throw new ResourceNotFoundException("Post not found with ID: " + id);
         }
+        return post.withAuthor(post.getUserId() != null ? snapshot.getUser(post.getUserId()) : null);
     }
 
     /**
@@ -122,26 +122,10 @@ public class JsonPlaceholderService {
      * 
      * @return List of users
      */
-    @Cacheable("users")
     public List<User> getUsers() {
-        log.info("Fetching all users");
-
-        try {
-            return jsonPlaceholderWebClient.get()
-                    .uri("/users")
-                    .retrieve()
-                    .bodyToFlux(User.class)
-                    .timeout(Duration.ofMillis(timeout))
-                    .collectList()
-                    .block();
-
-        } catch (WebClientResponseException e) {
-            log.error("JSONPlaceholder API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ApiIntegrationException("Failed to fetch users: " + e.getStatusText(), e);
-        } catch (Exception e) {
-            log.error("Error fetching users", e);
-            throw new ApiIntegrationException("Failed to fetch users: " + e.getMessage(), e);
-        }
+        log.debug("Fetching all users");
+
+        return snapshot().getUsers();
     }
 
     /**
@@ -150,34 +134,22 @@ public class JsonPlaceholderService {
      * @param id User ID
      * @return User details
      */
-    @Cacheable(value = "users", key = "#id")
     public User getUserById(Long id) {
-        log.info("Fetching user with ID: {}", id);
-
-        try {
-            User user = jsonPlaceholderWebClient.get()
-                    .uri("/users/{id}", id)
-                    .retrieve()
-                    .bodyToMono(User.class)
-                    .timeout(Duration.ofMillis(timeout))
-                    .onErrorResume(WebClientResponseException.NotFound.class,
-                            error -> Mono.error(new ResourceNotFoundException("User not found with ID: " + id)))
-                    .block();
-
-            if (user == null) {
-                throw new ResourceNotFoundException("User not found with ID: " + id);
-            }
+        log.debug("Fetching user with ID: {}", id);
 
-            return user;
+        User user = snapshot().getUser(id);
+        if (user == null) {
+            throw new ResourceNotFoundException("User not found with ID: " + id);
+        }
+        return user;
+    }
 
-        } catch (ResourceNotFoundException e) {
-            throw e;
-        } catch (WebClientResponseException e) {
-            log.error("JSONPlaceholder API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new ApiIntegrationException("Failed to fetch user: " + e.getStatusText(), e);
-        } catch (Exception e) {
-            log.error("Error fetching user", e);
-            throw new ApiIntegrationException("Failed to fetch user: " + e.getMessage(), e);
+    private JsonPlaceholderSnapshot snapshot() {
+        JsonPlaceholderSnapshot snapshot = syncEngine.getSnapshot();
+        if (snapshot == null) {
+            throw new ServiceUnavailableException("JSONPlaceholder data has not been synced yet, retry later",
+                    notReadyRetryAfterSeconds);
         }
+        return snapshot;
     }
 }
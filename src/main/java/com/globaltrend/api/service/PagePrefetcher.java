@@ -0,0 +1,60 @@
+package com.globaltrend.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Page Prefetcher
+ * Loads the next page of a paginated listing in the background so that it
+ * is already cached when the client asks for it. Concurrent requests for the
+ * same page are collapsed into a single upstream call.
+ */
+@Component
+@Slf4j
+public class PagePrefetcher {
+
+    private final TaskExecutor prefetchExecutor;
+    private final boolean enabled;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    public PagePrefetcher(
+            @Qualifier("prefetchExecutor") TaskExecutor prefetchExecutor,
+            @Value("${api.github.prefetch.enabled:true}") boolean enabled) {
+        this.prefetchExecutor = prefetchExecutor;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Schedule a background load of a page
+     * 
+     * @param key    Unique key of the page being prefetched
+     * @param loader Call through the caching proxy that loads the page
+     */
+    public void prefetch(String key, Runnable loader) {
+        if (!enabled || key == null || !inFlight.add(key)) {
+            return;
+        }
+
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    loader.run();
+                } catch (Exception e) {
+                    log.debug("Prefetch of {} failed: {}", key, e.getMessage());
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            log.debug("Prefetch of {} skipped, executor saturated", key);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.globaltrend.api.sync;
+
+import com.globaltrend.api.model.Post;
+import com.globaltrend.api.model.User;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * JSONPlaceholder Snapshot
+ * One immutable, indexed version of the synced posts and users. A new
+ * snapshot is published as a whole, so readers never see a half-applied sync.
+ */
+@Getter
+public final class JsonPlaceholderSnapshot {
+
+    private final long version;
+    private final Instant publishedAt;
+    private final List<Post> posts;
+    private final List<User> users;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, Post> postsById;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, List<Post>> postsByUserId;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<Long, User> usersById;
+
+    JsonPlaceholderSnapshot(long version, Instant publishedAt, List<Post> posts, List<User> users) {
+        this.version = version;
+        this.publishedAt = publishedAt;
+        this.posts = List.copyOf(posts);
+        this.users = List.copyOf(users);
+        this.postsById = index(this.posts, Post::getId);
+        this.usersById = index(this.users, User::getId);
+        this.postsByUserId = Collections.unmodifiableMap(this.posts.stream()
+                .filter(post -> post.getUserId() != null)
+                .collect(Collectors.groupingBy(Post::getUserId, LinkedHashMap::new,
+                        Collectors.collectingAndThen(Collectors.toList(), List::copyOf))));
+    }
+
+    public Post getPost(Long id) {
+        return postsById.get(id);
+    }
+
+    public List<Post> getPostsByUserId(Long userId) {
+        return postsByUserId.getOrDefault(userId, List.of());
+    }
+
+    public User getUser(Long id) {
+        return usersById.get(id);
+    }
+
+    private static <T> Map<Long, T> index(List<T> records, Function<T, Long> idOf) {
+        Map<Long, T> index = new LinkedHashMap<>(records.size() * 2);
+        for (T record : records) {
+            index.put(idOf.apply(record), record);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+}
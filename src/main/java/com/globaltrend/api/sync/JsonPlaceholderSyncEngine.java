@@ -0,0 +1,156 @@
+package com.globaltrend.api.sync;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globaltrend.api.model.Post;
+import com.globaltrend.api.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSONPlaceholder Sync Engine
+ * Pulls /posts and /users on a fixed delay into local record stores, diffs
+ * them by content hash and publishes a new immutable snapshot only when
+ * something changed. Reads are served from the published snapshot and never
+ * wait on the upstream; a failed sync keeps the previous snapshot.
+ */
+@Component
+@Slf4j
+public class JsonPlaceholderSyncEngine {
+
+    private final WebClient jsonPlaceholderWebClient;
+    private final int timeout;
+    private final Duration staleAfter;
+
+    private final RecordStore<Post> postStore;
+    private final RecordStore<User> userStore;
+
+    private volatile JsonPlaceholderSnapshot snapshot;
+
+    private volatile Instant lastAttemptAt;
+    private volatile Instant lastSuccessAt;
+    private volatile long lastDurationMs;
+    private volatile String lastError;
+    private volatile int consecutiveFailures;
+    private volatile long syncCount;
+    private volatile long failureCount;
+    private volatile SyncDelta lastPostsDelta;
+    private volatile SyncDelta lastUsersDelta;
+
+    public JsonPlaceholderSyncEngine(
+            @Qualifier("jsonPlaceholderWebClient") WebClient jsonPlaceholderWebClient,
+            ObjectMapper objectMapper,
+            @Value("${api.jsonplaceholder.timeout}") int timeout,
+            @Value("${api.jsonplaceholder.sync.stale-after:5m}") Duration staleAfter) {
+        this.jsonPlaceholderWebClient = jsonPlaceholderWebClient;
+        this.timeout = timeout;
+        this.staleAfter = staleAfter;
+        this.postStore = new RecordStore<>(Post::getId, objectMapper);
+        this.userStore = new RecordStore<>(User::getId, objectMapper);
+    }
+
+    /**
+     * Latest published snapshot
+     * 
+     * @return Snapshot, or null until the first sync has succeeded
+     */
+    public JsonPlaceholderSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Run one sync. Scheduled, but safe to call directly (e.g. on demand).
+     */
+    @Scheduled(initialDelayString = "${api.jsonplaceholder.sync.initial-delay:0}",
+            fixedDelayString = "${api.jsonplaceholder.sync.interval:60000}")
+    public synchronized void sync() {
+        long start = System.nanoTime();
+        lastAttemptAt = Instant.now();
+        syncCount++;
+
+        try {
+            List<Post> posts = fetchAll("/posts", Post.class);
+            List<User> users = fetchAll("/users", User.class);
+
+            SyncDelta postsDelta = postStore.apply(posts);
+            SyncDelta usersDelta = userStore.apply(users);
+            lastPostsDelta = postsDelta;
+            lastUsersDelta = usersDelta;
+
+            JsonPlaceholderSnapshot current = snapshot;
+            if (current == null || postsDelta.hasChanges() || usersDelta.hasChanges()) {
+                long version = current != null ? current.getVersion() + 1 : 1;
+                snapshot = new JsonPlaceholderSnapshot(version, Instant.now(), postStore.values(), userStore.values());
+                log.info("Published JSONPlaceholder snapshot v{} (posts {}, users {})", version, postsDelta, usersDelta);
+            } else {
+                log.debug("JSONPlaceholder unchanged, keeping snapshot v{}", current.getVersion());
+            }
+
+            lastSuccessAt = Instant.now();
+            lastError = null;
+            consecutiveFailures = 0;
+
+        } catch (Exception e) {
+            failureCount++;
+            consecutiveFailures++;
+            lastError = e.getMessage();
+            log.warn("JSONPlaceholder sync failed ({} in a row): {}", consecutiveFailures, e.getMessage());
+        } finally {
+            lastDurationMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+        }
+    }
+
+    /**
+     * Sync status for monitoring. Lag is the age of the data being served,
+     * i.e. the time since the last successful sync.
+     */
+    public Map<String, Object> getStatus() {
+        JsonPlaceholderSnapshot current = snapshot;
+        Instant successAt = lastSuccessAt;
+        Long lagMs = successAt != null ? Duration.between(successAt, Instant.now()).toMillis() : null;
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("ready", current != null);
+        status.put("version", current != null ? current.getVersion() : null);
+        status.put("publishedAt", current != null ? current.getPublishedAt().toString() : null);
+        status.put("posts", current != null ? current.getPosts().size() : 0);
+        status.put("users", current != null ? current.getUsers().size() : 0);
+        status.put("lastAttemptAt", lastAttemptAt != null ? lastAttemptAt.toString() : null);
+        status.put("lastSuccessAt", successAt != null ? successAt.toString() : null);
+        status.put("lagMs", lagMs);
+        status.put("stale", lagMs == null || lagMs > staleAfter.toMillis());
+        status.put("lastDurationMs", lastDurationMs);
+        status.put("lastPostsDelta", lastPostsDelta);
+        status.put("lastUsersDelta", lastUsersDelta);
+        status.put("lastError", lastError);
+        status.put("consecutiveFailures", consecutiveFailures);
+        status.put("syncs", syncCount);
+        status.put("failures", failureCount);
+        return status;
+    }
+
+    private <T> List<T> fetchAll(String path, Class<T> type) {
+        List<T> records = jsonPlaceholderWebClient.get()
+                .uri(path)
+                .retrieve()
+                .bodyToFlux(type)
+                .timeout(Duration.ofMillis(timeout))
+                .collectList()
+                .block();
+
+        // An empty collection is far more likely a broken upstream than real data
+        if (records == null || records.isEmpty()) {
+            throw new IllegalStateException("Upstream returned no records for " + path);
+        }
+        return records;
+    }
+}
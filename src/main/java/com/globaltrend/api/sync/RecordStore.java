@@ -0,0 +1,104 @@
+package com.globaltrend.api.sync;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Record Store
+ * Local copy of one upstream collection with a content hash per record.
+ * Each sync is diffed against the stored hashes; records whose content did
+ * not change keep their existing instance. Only used from the sync thread.
+ */
+final class RecordStore<T> {
+
+    private final Function<T, Long> idOf;
+    private final ObjectMapper objectMapper;
+
+    private Map<Long, StoredRecord<T>> records = new LinkedHashMap<>();
+
+    RecordStore(Function<T, Long> idOf, ObjectMapper objectMapper) {
+        this.idOf = idOf;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Replace the stored collection with a freshly fetched one
+     * 
+     * @param fetched Full upstream collection, in upstream order
+     * @return What changed compared to the stored collection
+     */
+    SyncDelta apply(List<T> fetched) throws JsonProcessingException {
+        Map<Long, StoredRecord<T>> next = new LinkedHashMap<>(fetched.size() * 2);
+        int added = 0;
+        int updated = 0;
+
+        for (T record : fetched) {
+            Long id = idOf.apply(record);
+            long hash = contentHash(record);
+            StoredRecord<T> previous = records.get(id);
+
+            if (previous == null) {
+                added++;
+                next.put(id, new StoredRecord<>(record, hash));
+            } else if (previous.hash() != hash) {
+                updated++;
+                next.put(id, new StoredRecord<>(record, hash));
+            } else {
+                next.put(id, previous);
+            }
+        }
+
+        int removed = 0;
+        for (Long id : records.keySet()) {
+            if (!next.containsKey(id)) {
+                removed++;
+            }
+        }
+
+        records = next;
+        return new SyncDelta(added, updated, removed);
+    }
+
+    List<T> values() {
+        List<T> values = new ArrayList<>(records.size());
+        for (StoredRecord<T> stored : records.values()) {
+            values.add(stored.record());
+        }
+        return values;
+    }
+
+    int size() {
+        return records.size();
+    }
+
+    /**
+     * First 64 bits of the SHA-256 of the record's JSON form
+     */
+    private long contentHash(T record) throws JsonProcessingException {
+        byte[] digest = sha256().digest(objectMapper.writeValueAsBytes(record));
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xff);
+        }
+        return hash;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record StoredRecord<T>(T record, long hash) {
+    }
+}
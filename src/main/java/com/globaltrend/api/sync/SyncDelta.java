@@ -0,0 +1,11 @@
+package com.globaltrend.api.sync;
+
+/**
+ * Record counts changed by one sync of one collection
+ */
+public record SyncDelta(int added, int updated, int removed) {
+
+    public boolean hasChanges() {
+        return added > 0 || updated > 0 || removed > 0;
+    }
+}
@@ -0,0 +1,83 @@
+package com.globaltrend.api.util;
+
+import java.util.function.Function;
+
+/**
+ * GitHub Page Parameters
+ * The request parameters of the paginated GitHub endpoints, their defaults,
+ * and how a cursor overrides them. Shared by the controller and by anything
+ * that has to predict what the controller will ask for.
+ */
+public final class GitHubPageParams {
+
+    public static final String SINCE = "since";
+    public static final String PAGE = "page";
+    public static final String PER_PAGE = "perPage";
+    public static final String CURSOR = "cursor";
+
+    public static final String DEFAULT_SINCE = "0";
+    public static final String DEFAULT_PAGE = "1";
+    public static final String DEFAULT_PER_PAGE = "10";
+
+    /** Cursor parameters, named after GitHub's own query parameters */
+    public static final String CURSOR_SINCE = "since";
+    public static final String CURSOR_PAGE = "page";
+    public static final String CURSOR_PER_PAGE = "per_page";
+
+    private GitHubPageParams() {
+    }
+
+    public record UsersPage(long since, int perPage) {
+    }
+
+    public record ReposPage(int page, int perPage) {
+    }
+
+    /**
+     * Users page from already bound parameters; the cursor, if any, wins
+     */
+    public static UsersPage usersPage(long since, int perPage, String cursor) {
+        if (cursor == null) {
+            return new UsersPage(since, perPage);
+        }
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        return new UsersPage(pageCursor.getLong(CURSOR_SINCE, since), pageCursor.getInt(CURSOR_PER_PAGE, perPage));
+    }
+
+    /**
+     * Repositories page from already bound parameters; the cursor, if any, wins
+     */
+    public static ReposPage reposPage(int page, int perPage, String cursor) {
+        if (cursor == null) {
+            return new ReposPage(page, perPage);
+        }
+        PageCursor pageCursor = PageCursor.decode(cursor);
+        return new ReposPage(pageCursor.getInt(CURSOR_PAGE, page), pageCursor.getInt(CURSOR_PER_PAGE, perPage));
+    }
+
+    /**
+     * Users page from raw request parameters
+     *
+     * @throws NumberFormatException if a parameter is not a number
+     */
+    public static UsersPage usersPage(Function<String, String> params) {
+        return usersPage(Long.parseLong(param(params, SINCE, DEFAULT_SINCE)),
+                Integer.parseInt(param(params, PER_PAGE, DEFAULT_PER_PAGE)), params.apply(CURSOR));
+    }
+
+    /**
+     * Repositories page from raw request parameters
+     *
+     * @throws NumberFormatException if a parameter is not a number
+     */
+    public static ReposPage reposPage(Function<String, String> params) {
+        return reposPage(Integer.parseInt(param(params, PAGE, DEFAULT_PAGE)),
+                Integer.parseInt(param(params, PER_PAGE, DEFAULT_PER_PAGE)), params.apply(CURSOR));
+    }
+
+    private static String param(Function<String, String> params, String name, String defaultValue) {
+        String value = params.apply(name);
+        // Like @RequestParam: an empty value means the default
+        return value != null && !value.isEmpty() ? value.trim() : defaultValue;
+    }
+}
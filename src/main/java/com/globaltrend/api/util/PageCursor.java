@@ -0,0 +1,121 @@
+package com.globaltrend.api.util;
+
+import com.globaltrend.api.exception.InvalidCursorException;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque Pagination Cursor
+ * Wraps the query parameters of the upstream "next" page as advertised by
+ * GitHub's Link header, and encodes them as a URL-safe token for clients
+ */
+public final class PageCursor {
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>\\s*;\\s*rel=\"next\"");
+
+    private final Map<String, String> params;
+
+    private PageCursor(Map<String, String> params) {
+        this.params = Collections.unmodifiableMap(params);
+    }
+
+    /**
+     * Build a cursor from explicit query parameters
+     */
+    public static PageCursor of(Map<String, String> params) {
+        return new PageCursor(new LinkedHashMap<>(params));
+    }
+
+    /**
+     * Extract the next page cursor from a Link response header
+     *
+     * @param linkHeader Raw Link header value (may be null)
+     * @return Cursor for the next page, or null if there is none
+     */
+    public static PageCursor fromLinkHeader(String linkHeader) {
+        if (linkHeader == null || linkHeader.isEmpty()) {
+            return null;
+        }
+
+        Matcher matcher = NEXT_LINK.matcher(linkHeader);
+        if (!matcher.find()) {
+            return null;
+        }
+
+        String query = URI.create(matcher.group(1)).getRawQuery();
+        return query != null ? new PageCursor(parseQuery(query)) : null;
+    }
+
+    /**
+     * Decode a cursor previously handed out by {@link #encode()}
+     *
+     * @param token Opaque cursor token
+     * @return Decoded cursor
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String query = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            Map<String, String> params = parseQuery(query);
+            if (params.isEmpty()) {
+                throw new InvalidCursorException("Invalid pagination cursor");
+            }
+            return new PageCursor(params);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+
+    public String encode() {
+        StringBuilder query = new StringBuilder();
+        params.forEach((name, value) -> {
+            if (query.length() > 0) {
+                query.append('&');
+            }
+            query.append(name).append('=').append(value);
+        });
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(query.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int getInt(String name, int defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+
+    public long getLong(String name, long defaultValue) {
+        String value = params.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new LinkedHashMap<>();
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(pair.substring(0, eq), pair.substring(eq + 1));
+            }
+        }
+        return params;
+    }
+}
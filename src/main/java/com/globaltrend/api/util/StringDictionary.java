@@ -0,0 +1,34 @@
+package com.globaltrend.api.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * String Dictionary
+ * Canonicalizes low-cardinality strings (languages, branch names, ...) so
+ * that every cached model shares one instance per distinct value. Bounded:
+ * once full, unseen values are returned as-is rather than growing forever.
+ */
+public final class StringDictionary {
+
+    private static final int MAX_ENTRIES = 8192;
+    private static final Map<String, String> ENTRIES = new ConcurrentHashMap<>();
+
+    private StringDictionary() {
+    }
+
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = ENTRIES.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (ENTRIES.size() >= MAX_ENTRIES) {
+            return value;
+        }
+        canonical = ENTRIES.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+}
@@ -0,0 +1,40 @@
+package com.globaltrend.api.util;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Upstream Response Helpers
+ * Decode upstream responses for WebClient#exchangeToMono, completing empty
+ * on 404 so that "not found" is handled without building a
+ * WebClientResponseException. Other error statuses still raise one.
+ */
+public final class UpstreamResponses {
+
+    private UpstreamResponses() {
+    }
+
+    public static <T> Mono<T> bodyOrEmptyIfNotFound(ClientResponse response, Class<T> type) {
+        if (response.statusCode().is2xxSuccessful()) {
+            return response.bodyToMono(type);
+        }
+        if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            return response.releaseBody().then(Mono.empty());
+        }
+        return response.createError();
+    }
+
+    public static <T> Mono<ResponseEntity<List<T>>> entityListOrEmptyIfNotFound(ClientResponse response, Class<T> type) {
+        if (response.statusCode().is2xxSuccessful()) {
+            return response.toEntityList(type);
+        }
+        if (response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            return response.releaseBody().then(Mono.empty());
+        }
+        return response.createError();
+    }
+}
@@ -3,6 +3,9 @@
 
 const API_BASE = '';  // Using same origin
 
+// Post shown in the detail view, with its embedded author
+let currentPost = null;
+
 // ===== Navigation =====
 document.addEventListener('DOMContentLoaded', () => {
     // Setup navigation
@@ -59,7 +62,7 @@ function escapeHtml(text) {
 
 // ===== GitHub API Functions =====
 
-async function fetchGitHubUsers() {
+async function fetchGitHubUsers(cursor) {
     const since = document.getElementById('github-since').value || 0;
     const perPage = document.getElementById('github-per-page').value || 10;
     const container = document.getElementById('github-content');
@@ -67,7 +70,10 @@ async function fetchGitHubUsers() {
     showLoading();
 
     try {
-        const response = await fetch(`${API_BASE}/api/github/users?since=${since}&perPage=${perPage}`);
+        const url = cursor
+            ? `${API_BASE}/api/github/users?cursor=${encodeURIComponent(cursor)}`
+            : `${API_BASE}/api/github/users?since=${since}&perPage=${perPage}`;
+        const response = await fetch(url);
         
         if (!response.ok) {
             const error = await response.json();
@@ -81,6 +87,7 @@ async function fetchGitHubUsers() {
         }
 
         displayGitHubUsers(result.data, container);
+        displayNextPageButton(result.metadata && result.metadata.nextCursor, container);
 
     } catch (error) {
         console.error('Error fetching GitHub users:', error);
@@ -133,6 +140,21 @@ function displayGitHubUsers(users, container) {
     container.appendChild(grid);
 }
 
+// The server prefetches the next page while this one is displayed,
+// so following the cursor is normally served straight from cache
+function displayNextPageButton(nextCursor, container) {
+    if (!nextCursor) {
+        return;
+    }
+
+    const button = document.createElement('button');
+    button.className = 'btn-primary';
+    button.textContent = 'Next Page →';
+    button.onclick = () => fetchGitHubUsers(nextCursor);
+
+    container.appendChild(button);
+}
+
 async function fetchGitHubUserDetails(username) {
     const container = document.getElementById('github-content');
     showLoading();
@@ -323,7 +345,8 @@ async function fetchPosts() {
     showLoading();
 
     try {
-        let url = `${API_BASE}/api/posts?`;
+        // Authors are embedded server-side, so the cards need no per-author requests
+        let url = `${API_BASE}/api/posts?expand=author&`;
         if (userId) url += `userId=${userId}&`;
         if (limit) url += `limit=${limit}`;
 
@@ -374,7 +397,7 @@ function displayPosts(posts, container) {
             <div class="card-header">
                 <div>
                     <div class="card-title">${escapeHtml(post.title)}</div>
-                    <div class="card-subtitle">Post #${post.id} • User #${post.userId}</div>
+                    <div class="card-subtitle">Post #${post.id} • ${authorLabel(post)}</div>
                 </div>
             </div>
             <p class="card-text">${escapeHtml(post.body.substring(0, 100))}${post.body.length > 100 ? '...' : ''}</p>
@@ -398,7 +421,7 @@ async function fetchPostDetails(postId) {
     showLoading();
 
     try {
-        const response = await fetch(`${API_BASE}/api/posts/${postId}`);
+        const response = await fetch(`${API_BASE}/api/posts/${postId}?expand=author`);
         
         if (!response.ok) {
             const error = await response.json();
@@ -421,7 +444,21 @@ async function fetchPostDetails(postId) {
     }
 }
 
+function authorLabel(post) {
+    return post.author ? escapeHtml(post.author.name) : `User #${post.userId}`;
+}
+
+function showPostAuthor() {
+    // The author is already embedded in the post, only fall back to a request without it
+    if (currentPost && currentPost.author) {
+        displayUserDetails(currentPost.author, document.getElementById('posts-content'));
+    } else if (currentPost) {
+        fetchUserDetails(currentPost.userId);
+    }
+}
+
 function displayPostDetails(post, container) {
+    currentPost = post;
     container.innerHTML = `
         <div class="detail-view">
             <button class="back-button" onclick="fetchPosts()">
@@ -430,7 +467,7 @@ function displayPostDetails(post, container) {
             
             <div class="detail-header">
                 <div class="detail-title">${escapeHtml(post.title)}</div>
-                <div class="detail-subtitle">Post #${post.id} • By User #${post.userId}</div>
+                <div class="detail-subtitle">Post #${post.id} • By ${authorLabel(post)}</div>
             </div>
 
             <div class="detail-body">
@@ -449,7 +486,7 @@ function displayPostDetails(post, container) {
                     <div class="info-item">
                         <div class="info-label">User ID</div>
                         <div class="info-value">
-                            <a href="#" onclick="fetchUserDetails(${post.userId}); return false;" style="color: var(--primary);">
+                            <a href="#" onclick="showPostAuthor(); return false;" style="color: var(--primary);">
                                 ${post.userId}
                             </a>
                         </div>
@@ -0,0 +1,200 @@
+package com.globaltrend.api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Range segment cache in front of a fake upstream listing holding the even
+ * ids 2..200
+ */
+class RangeSegmentCacheTest {
+
+    private final TreeSet<Long> upstreamIds = LongStream.rangeClosed(1, 100)
+            .map(i -> i * 2)
+            .collect(TreeSet::new, TreeSet::add, TreeSet::addAll);
+
+    private final List<String> upstreamCalls = new ArrayList<>();
+
+    @Test
+    void repeatedWindowIsServedFromCache() {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMinutes(10), 1000);
+
+        assertThat(cache.getWindow(0, 5, this::fetch)).containsExactly(2L, 4L, 6L, 8L, 10L);
+        assertThat(cache.getWindow(0, 5, this::fetch)).containsExactly(2L, 4L, 6L, 8L, 10L);
+
+        assertThat(upstreamCalls).containsExactly("0:5");
+        assertThat(cache.getStats()).containsEntry("windowsFromCache", 1L);
+    }
+
+    @Test
+    void overlappingWindowOnlyFetchesWhatIsNotCovered() {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMinutes(10), 1000);
+        cache.getWindow(0, 10, this::fetch);
+
+        List<Long> window = cache.getWindow(10, 10, this::fetch);
+
+        assertThat(window).containsExactly(12L, 14L, 16L, 18L, 20L, 22L, 24L, 26L, 28L, 30L);
+        assertThat(upstreamCalls).containsExactly("0:10", "20:5");
+        assertThat(cache.getStats()).containsEntry("items", 15).containsEntry("segments", 1);
+    }
+
+    @Test
+    void gapBetweenSegmentsIsFetchedAndCoalesced() {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMinutes(10), 1000);
+        cache.getWindow(0, 5, this::fetch);
+        cache.getWindow(20, 5, this::fetch);
+        assertThat(cache.getStats()).containsEntry("segments", 2);
+        assertThat(cache.covers(0, 15)).isFalse();
+
+        List<Long> window = cache.getWindow(0, 15, this::fetch);
+
+        assertThat(window).hasSize(15).startsWith(2L, 4L).endsWith(28L, 30L);
+        assertThat(upstreamCalls).containsExactly("0:5", "20:5", "10:10");
+        assertThat(cache.getStats()).containsEntry("segments", 1);
+        assertThat(cache.covers(0, 15)).isTrue();
+    }
+
+    @Test
+    void gapFetchIsBoundedByTheNextSegment() {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMinutes(10), 1000);
+        cache.getWindow(0, 5, this::fetch);
+        cache.getWindow(14, 5, this::fetch);
+
+        List<Long> window = cache.getWindow(0, 15, this::fetch);
+
+        assertThat(window).containsExactlyElementsOf(LongStream.rangeClosed(1, 15).map(i -> i * 2).boxed().toList());
+        assertThat(upstreamCalls).containsExactly("0:5", "14:5", "10:4", "24:3");
+        assertThat(cache.getStats()).containsEntry("segments", 1).containsEntry("items", 15);
+    }
+
+    @Test
+    void expiredNextSegmentDoesNotBoundTheGapFetch() throws InterruptedException {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMillis(50), 1000);
+        cache.getWindow(14, 5, this::fetch);
+        Thread.sleep(100);
+
+        cache.getWindow(0, 10, this::fetch);
+
+        assertThat(upstreamCalls).containsExactly("14:5", "0:10");
+    }
+
+        @Test
+    void shortPageMarksEndOfListing() {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMinutes(10), 1000);
+
+        assertThat(cache.getWindow(194, 10, this::fetch)).containsExactly(196L, 198L, 200L);
+        assertThat(cache.getWindow(196, 10, this::fetch)).containsExactly(198L, 200L);
+        assertThat(cache.getWindow(500, 10, this::fetch)).isEmpty();
+
+        assertThat(upstreamCalls).containsExactly("194:10");
+        assertThat(cache.covers(1_000_000, 10)).isTrue();
+    }
+
+    @Test
+    void expiredSegmentsAreFetchedAgain() throws InterruptedException {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMillis(50), 1000);
+        cache.getWindow(0, 5, this::fetch);
+        upstreamIds.remove(4L);
+
+        Thread.sleep(100);
+
+        assertThat(cache.covers(0, 5)).isFalse();
+        assertThat(cache.getWindow(0, 5, this::fetch)).containsExactly(2L, 6L, 8L, 10L, 12L);
+        assertThat(upstreamCalls).containsExactly("0:5", "0:5");
+    }
+
+    @Test
+    void storeSweepsExpiredSegmentsAndTheirItems() throws InterruptedException {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMillis(50), 1000);
+        cache.getWindow(0, 5, this::fetch);
+        cache.getWindow(100, 5, this::fetch);
+        Thread.sleep(100);
+
+        cache.getWindow(150, 5, this::fetch);
+
+        assertThat(cache.getStats()).containsEntry("segments", 1).containsEntry("items", 5);
+    }
+
+        @Test
+    void oldestSegmentIsDroppedWhenItemBoundIsExceeded() {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMinutes(10), 10);
+        cache.getWindow(0, 5, this::fetch);
+        cache.getWindow(100, 5, this::fetch);
+
+        cache.getWindow(150, 5, this::fetch);
+
+        assertThat(cache.getStats()).containsEntry("items", 10).containsEntry("segments", 2);
+        assertThat(cache.covers(0, 5)).isFalse();
+        assertThat(cache.covers(100, 5)).isTrue();
+        assertThat(cache.covers(150, 5)).isTrue();
+    }
+
+    @Test
+    void coversOnlyFullyCachedWindows() {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMinutes(10), 1000);
+        assertThat(cache.covers(0, 1)).isFalse();
+
+        cache.getWindow(10, 5, this::fetch);
+
+        assertThat(cache.covers(10, 5)).isTrue();
+        assertThat(cache.covers(13, 3)).isTrue();
+        assertThat(cache.covers(10, 6)).isFalse();
+        assertThat(cache.covers(9, 1)).isFalse();
+        assertThat(cache.covers(20, 1)).isFalse();
+        assertThat(cache.covers(10, 0)).isTrue();
+    }
+
+    @Test
+    void coversAcrossCoalescedSegments() {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMinutes(10), 1000);
+        cache.getWindow(0, 5, this::fetch);
+        cache.getWindow(10, 5, this::fetch);
+
+        assertThat(cache.getStats()).containsEntry("segments", 1);
+        assertThat(cache.covers(0, 10)).isTrue();
+        assertThat(cache.covers(6, 7)).isTrue();
+        assertThat(cache.covers(6, 8)).isFalse();
+    }
+
+    @Test
+    void coversIsReadOnly() throws InterruptedException {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMillis(50), 1000);
+        cache.getWindow(0, 5, this::fetch);
+        assertThat(cache.covers(0, 5)).isTrue();
+        Thread.sleep(100);
+
+        assertThat(cache.covers(0, 5)).isFalse();
+
+        assertThat(cache.getStats())
+                .containsEntry("segments", 1)
+                .containsEntry("items", 5)
+                .containsEntry("windows", 1L);
+    }
+
+        @Test
+    void sinceBeyondIntRangeIsSupported() {
+        RangeSegmentCache<Long> cache = newCache(Duration.ofMinutes(10), 1000);
+        long since = Integer.MAX_VALUE + 10L;
+        upstreamIds.add(since + 1);
+        upstreamIds.add(since + 2);
+
+        assertThat(cache.getWindow(since, 5, this::fetch)).containsExactly(since + 1, since + 2);
+        assertThat(upstreamCalls).containsExactly(since + ":5");
+    }
+
+    private RangeSegmentCache<Long> newCache(Duration ttl, int maxItems) {
+        return new RangeSegmentCache<>(Long::longValue, ttl.toNanos(), maxItems, 100);
+    }
+
+    private List<Long> fetch(long since, int count) {
+        upstreamCalls.add(since + ":" + count);
+        return upstreamIds.tailSet(since, false).stream().limit(count).toList();
+    }
+}
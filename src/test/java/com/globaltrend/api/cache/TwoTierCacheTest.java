@@ -0,0 +1,219 @@
+package com.globaltrend.api.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globaltrend.api.model.CursorPage;
+import com.globaltrend.api.model.GitHubRepository;
+import com.globaltrend.api.model.GitHubUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes (cache managers) sharing one embedded L2 store
+ */
+class TwoTierCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private InMemorySharedCacheStore sharedStore;
+    private TwoTierCache nodeA;
+    private TwoTierCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        sharedStore = new InMemorySharedCacheStore();
+        nodeA = (TwoTierCache) newNode().getCache("github-users");
+        nodeB = (TwoTierCache) newNode().getCache("github-users");
+    }
+
+    @Test
+    void valueWrittenOnOneNodeIsReadFromSharedTierOnAnother() {
+        nodeA.put("octocat", user(1L, "octocat", "The Octocat"));
+
+        Cache.ValueWrapper cached = nodeB.get("octocat");
+
+        assertThat(cached).isNotNull();
+        assertThat(cached.get()).isEqualTo(user(1L, "octocat", "The Octocat"));
+        assertThat(nodeB.getStats()).containsEntry("sharedHits", 1L);
+        assertThat(nodeB.isCachedLocally("octocat")).isTrue();
+    }
+
+    @Test
+    void putOnOneNodeInvalidatesOtherNodesLocalCopy() {
+        nodeA.put("octocat", user(1L, "octocat", "Old"));
+        nodeB.get("octocat");
+        assertThat(nodeB.isCachedLocally("octocat")).isTrue();
+
+        nodeA.put("octocat", user(1L, "octocat", "New"));
+
+        assertThat(nodeB.isCachedLocally("octocat")).isFalse();
+        assertThat(((GitHubUser) nodeB.get("octocat").get()).getName()).isEqualTo("New");
+    }
+
+    @Test
+    void evictAndClearPropagateToOtherNodes() {
+        nodeA.put("a", user(1L, "a", null));
+        nodeA.put("b", user(2L, "b", null));
+        nodeB.get("a");
+        nodeB.get("b");
+
+        nodeA.evict("a");
+        assertThat(nodeB.isCachedLocally("a")).isFalse();
+        assertThat(nodeB.get("a")).isNull();
+
+        nodeA.clear();
+        assertThat(nodeB.isCachedLocally("b")).isFalse();
+        assertThat(nodeB.get("b")).isNull();
+    }
+
+    @Test
+    void sharedTierHoldsJsonOfTheDeclaredType() {
+        TwoTierCache repos = (TwoTierCache) newNode().getCache("github-repos");
+        GitHubRepository repo = new GitHubRepository();
+        repo.setId(7L);
+        repo.setFullName("octocat/hello");
+        repo.setHtmlUrl("https://github.com/octocat/hello");
+        CursorPage<GitHubRepository> page = new CursorPage<>(List.of(repo), "next");
+
+        repos.put("octocat_1_10", page);
+
+        String json = new String(sharedStore.get("github-repos::octocat_1_10"), StandardCharsets.UTF_8);
+        assertThat(json).contains("\"full_name\":\"octocat/hello\"").contains("\"nextCursor\":\"next\"");
+
+        TwoTierCache otherNode = (TwoTierCache) newNode().getCache("github-repos");
+        assertThat(otherNode.get("octocat_1_10").get()).isEqualTo(page);
+    }
+
+    @Test
+    void unreadableSharedEntryIsAMiss() {
+        sharedStore.set("github-users::broken", "not json".getBytes(StandardCharsets.UTF_8), Duration.ofMinutes(1));
+
+        assertThat(nodeB.get("broken")).isNull();
+        assertThat(nodeB.getStats()).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void loaderRunsOnceForConcurrentMissesOnTheSameKey() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                nodeA.get("octocat", () -> {
+                    loads.incrementAndGet();
+                    Thread.sleep(50);
+                    return user(1L, "octocat", null);
+                });
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void loaderForOneKeyDoesNotBlockOtherKeys() throws Exception {
+        CountDownLatch slowLoaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowLoader = new CountDownLatch(1);
+        Thread slow = new Thread(() -> nodeA.get("slow", () -> {
+            slowLoaderStarted.countDown();
+            releaseSlowLoader.await();
+            return user(1L, "slow", null);
+        }));
+        slow.start();
+        assertThat(slowLoaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        GitHubUser fast = nodeA.get("fast", () -> user(2L, "fast", null));
+
+        assertThat(fast.getLogin()).isEqualTo("fast");
+        releaseSlowLoader.countDown();
+        slow.join(5000);
+    }
+
+    @Test
+    void localCopyExpiresAfterTheTtl() throws Exception {
+        TwoTierCache node = (TwoTierCache) newNode(Duration.ofMillis(50), 1000).getCache("github-users");
+        node.put("octocat", user(1L, "octocat", null));
+        assertThat(node.isCachedLocally("octocat")).isTrue();
+
+        Thread.sleep(100);
+
+        assertThat(node.isCachedLocally("octocat")).isFalse();
+        assertThat(node.get("octocat")).isNull();
+        assertThat(node.getStats()).containsEntry("localSize", 0L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void localTierIsBounded() {
+        TwoTierCache node = (TwoTierCache) newNode(Duration.ofMinutes(10), 2).getCache("github-users");
+
+        for (long id = 1; id <= 10; id++) {
+            node.put("user" + id, user(id, "user" + id, null));
+        }
+
+        assertThat(node.getStats()).containsEntry("localSize", 2L).containsEntry("puts", 10L);
+        // Evicted locally, still served from the shared tier
+        for (long id = 1; id <= 10; id++) {
+            assertThat(node.get("user" + id)).isNotNull();
+        }
+    }
+
+    @Test
+    void sweepRemovesExpiredEntriesThatAreNeverRead() throws Exception {
+        sharedStore.set("x::expired", new byte[]{1}, Duration.ofMillis(1));
+        sharedStore.set("x::live", new byte[]{1}, Duration.ofMinutes(1));
+        Thread.sleep(5);
+
+        sharedStore.sweepExpired();
+
+        assertThat(sharedStore.size()).isEqualTo(1);
+        assertThat(sharedStore.get("x::live")).isNotNull();
+    }
+
+    private TwoTierCacheManager newNode() {
+        return newNode(Duration.ofMinutes(10), 1000);
+    }
+
+    private TwoTierCacheManager newNode(Duration ttl, long localMaxSize) {
+        Map<String, JavaType> valueTypes = new LinkedHashMap<>();
+        valueTypes.put("github-users", objectMapper.constructType(GitHubUser.class));
+        valueTypes.put("github-repos", objectMapper.getTypeFactory()
+                .constructParametricType(CursorPage.class, GitHubRepository.class));
+
+        TwoTierCacheManager manager = new TwoTierCacheManager(sharedStore, ttl, localMaxSize,
+                "test-invalidation", objectMapper, valueTypes);
+        manager.afterPropertiesSet();
+        return manager;
+    }
+
+    private static GitHubUser user(Long id, String login, String name) {
+        GitHubUser user = new GitHubUser();
+        user.setId(id);
+        user.setLogin(login);
+        user.setName(name);
+        return user;
+    }
+}
@@ -0,0 +1,185 @@
+package com.globaltrend.api.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Adaptive limit fed with synthetic round-trip times. Unless stated
+ * otherwise every sample completes while the limit is fully used, so it
+ * always counts.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void growsBySqrtOfLimitWhileLatencyStaysNearBaseline() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20, 150, 1.0, 1000);
+
+        completeAtLimit(limiter, FAST);
+
+        // 20 * gradient 1.0 + sqrt(20)
+        assertThat(limit(limiter)).isEqualTo(24);
+    }
+
+    @Test
+    void smoothingDampsEachStep() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20, 150, 0.2, 1000);
+
+        completeAtLimit(limiter, FAST);
+
+        // 20 * 0.8 + (20 + sqrt(20)) * 0.2
+        assertThat(limit(limiter)).isEqualTo(20);
+        completeAtLimit(limiter, FAST);
+        assertThat(limit(limiter)).isEqualTo(21);
+    }
+
+    @Test
+    void clampsToMaxLimit() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20, 150, 1.0, 1000);
+
+        for (int i = 0; i < 100; i++) {
+            completeAtLimit(limiter, FAST);
+        }
+
+        assertThat(limit(limiter)).isEqualTo(150);
+    }
+
+    @Test
+    void gradientShrinksLimitDownToMinWhenRequestsQueue() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(100, 150, 1.0, 1000);
+        completeAtLimit(limiter, FAST);
+        int grown = limit(limiter);
+
+        completeAtLimit(limiter, SLOW);
+        int afterOneSlow = limit(limiter);
+        for (int i = 0; i < 200; i++) {
+            completeAtLimit(limiter, SLOW);
+        }
+
+        assertThat(afterOneSlow).isLessThan(grown);
+        assertThat(limit(limiter)).isEqualTo(4);
+    }
+
+    @Test
+    void latencyWithinToleranceDoesNotShrink() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(50, 150, 1.0, 1000);
+        completeAtLimit(limiter, FAST);
+
+        for (int i = 0; i < 20; i++) {
+            int before = limit(limiter);
+            completeAtLimit(limiter, FAST * 14 / 10);
+            assertThat(limit(limiter)).isGreaterThanOrEqualTo(before);
+        }
+    }
+
+    @Test
+    void underusedLimitIsLeftAlone() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20, 150, 1.0, 1000);
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.release(i % 2 == 0 ? FAST : SLOW);
+        }
+
+        assertThat(limit(limiter)).isEqualTo(20);
+    }
+
+    @Test
+    void baselineIsRemeasuredEveryWindow() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20, 150, 1.0, 10);
+
+        for (int i = 0; i < 10; i++) {
+            sampleUnderused(limiter, FAST);
+        }
+        assertThat(limiter.getStats()).containsEntry("noLoadRttMs", 10.0);
+
+        for (int i = 0; i < 9; i++) {
+            sampleUnderused(limiter, SLOW);
+        }
+        // Old baseline still applies until the new window is complete
+        assertThat(limiter.getStats()).containsEntry("noLoadRttMs", 10.0);
+
+        sampleUnderused(limiter, SLOW);
+        assertThat(limiter.getStats()).containsEntry("noLoadRttMs", 100.0);
+    }
+
+    @Test
+    void rejectsOnceLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(5, 150, 1.0, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(FAST);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getStats()).containsEntry("accepted", 6L).containsEntry("rejected", 1L);
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(32, 150, 1.0, 1000);
+        AtomicInteger acquired = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 1000; j++) {
+                    if (limiter.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(acquired).hasValue(32);
+        assertThat(limiter.getStats()).containsEntry("inFlight", 32);
+    }
+
+    private static AdaptiveConcurrencyLimiter newLimiter(int initialLimit, int maxLimit, double smoothing,
+                                                         int baselineWindow) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 4, maxLimit, smoothing, 1.5, baselineWindow);
+    }
+
+    /**
+     * Fill every free slot, then complete one request with the given RTT
+     */
+    private static void completeAtLimit(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        while (limiter.tryAcquire()) {
+            // fill
+        }
+        limiter.release(rttNanos);
+    }
+
+    private static void sampleUnderused(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        limiter.tryAcquire();
+        limiter.release(rttNanos);
+    }
+
+    private static int limit(AdaptiveConcurrencyLimiter limiter) {
+        return (int) limiter.getStats().get("limit");
+    }
+}
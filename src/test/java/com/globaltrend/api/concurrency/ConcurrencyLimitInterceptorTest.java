@@ -0,0 +1,147 @@
+package com.globaltrend.api.concurrency;
+
+import com.globaltrend.api.exception.GlobalExceptionHandler;
+import com.globaltrend.api.service.GitHubApiService;
+import com.globaltrend.api.util.GitHubPageParams;
+import com.globaltrend.api.util.PageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Concurrency limit interceptor in front of stub handlers mapped to the real
+ * route patterns, with a limiter of two slots
+ */
+class ConcurrencyLimitInterceptorTest {
+
+    private final GitHubApiService gitHubApiService = mock(GitHubApiService.class);
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 2, 0.2, 1.5, 500);
+    private ConcurrencyLimitInterceptor interceptor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ConcurrencyLimitInterceptor(limiter, new CacheHitClassifier(gitHubApiService), true, 3);
+        mockMvc = MockMvcBuilders.standaloneSetup(new StubController())
+                .addInterceptors(interceptor)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void shedsWith503AndRetryAfterWhenAtCapacity() throws Exception {
+        fillLimiter();
+
+        mockMvc.perform(get("/api/github/users/octocat"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    void cacheHitsTakeTheFastLaneEvenAtCapacity() throws Exception {
+        when(gitHubApiService.isUserCached("octocat")).thenReturn(true);
+        fillLimiter();
+
+        mockMvc.perform(get("/api/github/users/octocat")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/posts")).andExpect(status().isOk());
+
+        assertThat(interceptor.getFastLaneCount()).isEqualTo(2);
+        assertThat(limiter.getStats()).containsEntry("inFlight", 2);
+    }
+
+    @Test
+    void slotIsReleasedAfterCompletionAndOnErrors() throws Exception {
+        mockMvc.perform(get("/api/github/users/octocat")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/github/users/boom")).andExpect(status().is5xxServerError());
+
+        assertThat(limiter.getStats()).containsEntry("inFlight", 0).containsEntry("accepted", 2L);
+        assertThat(interceptor.getFastLaneCount()).isZero();
+    }
+
+    @Test
+    void classifierResolvesPagingLikeTheController() throws Exception {
+        String cursor = PageCursor.of(Map.of(GitHubPageParams.CURSOR_SINCE, "5000000000",
+                GitHubPageParams.CURSOR_PER_PAGE, "30")).encode();
+        when(gitHubApiService.isUsersPageCached(5_000_000_000L, 30)).thenReturn(true);
+        fillLimiter();
+
+        mockMvc.perform(get("/api/github/users").param("since", "7").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.since").value(5_000_000_000L))
+                .andExpect(jsonPath("$.perPage").value(30));
+
+        mockMvc.perform(get("/api/github/users/octocat/repos"))
+                .andExpect(status().isServiceUnavailable());
+        verify(gitHubApiService).isRepositoriesPageCached("octocat", 1, 10);
+    }
+
+    @Test
+    void requestsTheControllerRejectsTakeTheFastLane() throws Exception {
+        fillLimiter();
+
+        mockMvc.perform(get("/api/github/users").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(gitHubApiService, never()).isUsersPageCached(anyLong(), anyInt());
+        verify(gitHubApiService, never()).isRepositoriesPageCached(anyString(), anyInt(), anyInt());
+    }
+
+    private void fillLimiter() {
+        while (limiter.tryAcquire()) {
+            // hold every slot
+        }
+    }
+
+    @RestController
+    static class StubController {
+
+        @GetMapping("/api/posts")
+        String posts() {
+            return "posts";
+        }
+
+        @GetMapping("/api/github/users")
+        Map<String, Object> users(
+                @RequestParam(name = GitHubPageParams.SINCE, defaultValue = GitHubPageParams.DEFAULT_SINCE) long since,
+                @RequestParam(name = GitHubPageParams.PER_PAGE, defaultValue = GitHubPageParams.DEFAULT_PER_PAGE)
+                int perPage,
+                @RequestParam(name = GitHubPageParams.CURSOR, required = false) String cursor) {
+            GitHubPageParams.UsersPage page = GitHubPageParams.usersPage(since, perPage, cursor);
+            return Map.of("since", page.since(), "perPage", page.perPage());
+        }
+
+        @GetMapping("/api/github/users/{username}")
+        String user(@PathVariable String username) {
+            if (username.equals("boom")) {
+                throw new IllegalStateException("boom");
+            }
+            return username;
+        }
+
+        @GetMapping("/api/github/users/{username}/repos")
+        String repos(@PathVariable String username) {
+            return username;
+        }
+    }
+}
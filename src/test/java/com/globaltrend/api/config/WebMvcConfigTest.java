@@ -0,0 +1,108 @@
+package com.globaltrend.api.config;
+
+import com.globaltrend.api.concurrency.ConcurrencyLimitInterceptor;
+import com.globaltrend.api.ratelimit.RateLimitInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache headers of the static frontend as produced by the build: only
+ * fingerprinted names are immutable
+ */
+class WebMvcConfigTest {
+
+    private static final String IMMUTABLE = "max-age=31536000, public, immutable";
+
+    private AnnotationConfigWebApplicationContext context;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(TestConfig.class);
+        context.refresh();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void fingerprintedAssetsAreImmutable() throws Exception {
+        String index = new ClassPathResource("static/index.html").getContentAsString(StandardCharsets.UTF_8);
+
+        for (String asset : new String[] {find(index, "js/app\\.[0-9a-f]{12}\\.js"),
+                find(index, "css/styles\\.[0-9a-f]{12}\\.css")}) {
+            mockMvc.perform(get("/" + asset))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE));
+            mockMvc.perform(get("/" + asset).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, IMMUTABLE));
+        }
+    }
+
+    @Test
+    void everythingElseIsRevalidated() throws Exception {
+        mockMvc.perform(get("/index.html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        mockMvc.perform(get("/js/unversioned.js"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+    }
+
+    @Test
+    void unknownFingerprintIsNotFound() throws Exception {
+        mockMvc.perform(get("/js/app.000000000000.js"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+    }
+
+    private static String find(String index, String regex) {
+        Matcher matcher = Pattern.compile(regex).matcher(index);
+        assertThat(matcher.find()).as("%s referenced from index.html", regex).isTrue();
+        return matcher.group();
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import(WebMvcConfig.class)
+    static class TestConfig {
+
+        @Bean
+        RateLimitInterceptor rateLimitInterceptor() {
+            return mock(RateLimitInterceptor.class);
+        }
+
+        @Bean
+        ConcurrencyLimitInterceptor concurrencyLimitInterceptor() {
+            return mock(ConcurrencyLimitInterceptor.class);
+        }
+    }
+}
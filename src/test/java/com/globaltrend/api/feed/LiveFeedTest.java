@@ -0,0 +1,274 @@
+package com.globaltrend.api.feed;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Live feed diffing and fan-out, with events delivered on the calling thread
+ * to emitters that record what they were sent
+ */
+class LiveFeedTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final AtomicReference<List<Item>> upstream = new AtomicReference<>(List.of());
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @Test
+    void firstPollPublishesEveryItemAsAdded() throws Exception {
+        LiveFeed<Item> feed = newFeed(Runnable::run, 16, 0);
+        RecordingEmitter client = subscribe(feed);
+        upstream.set(List.of(new Item(1, "a"), new Item(2, "b")));
+
+        feed.poll();
+
+        assertThat(client.eventNames()).containsExactly("changes:1");
+        JsonNode change = client.lastData();
+        assertThat(change.get("added")).hasSize(2);
+        assertThat(change.get("updated")).isEmpty();
+        assertThat(change.get("removed")).isEmpty();
+    }
+
+    @Test
+    void diffReportsAddedUpdatedAndRemovedItems() throws Exception {
+        LiveFeed<Item> feed = newFeed(Runnable::run, 16, 0);
+        RecordingEmitter client = subscribe(feed);
+        upstream.set(List.of(new Item(1, "a"), new Item(2, "b"), new Item(3, "c")));
+        feed.poll();
+
+        upstream.set(List.of(new Item(1, "a"), new Item(2, "B"), new Item(4, "d")));
+        feed.poll();
+
+        assertThat(client.eventNames()).containsExactly("changes:1", "changes:2");
+        JsonNode change = client.lastData();
+        assertThat(change.get("version").asLong()).isEqualTo(2);
+        assertThat(ids(change.get("added"))).containsExactly(4);
+        assertThat(ids(change.get("updated"))).containsExactly(2);
+        assertThat(change.get("updated").get(0).get("title").asText()).isEqualTo("B");
+        assertThat(change.get("removed").get(0).asInt()).isEqualTo(3);
+    }
+
+    @Test
+    void unchangedUpstreamOnlySendsHeartbeat() {
+        LiveFeed<Item> feed = newFeed(Runnable::run, 16, 0);
+        RecordingEmitter client = subscribe(feed);
+        upstream.set(List.of(new Item(1, "a")));
+        feed.poll();
+
+        feed.poll();
+
+        assertThat(client.eventNames()).containsExactly("changes:1", "heartbeat");
+    }
+
+    @Test
+    void nothingIsPolledWithoutSubscribersOrBeforeTheInterval() {
+        LiveFeed<Item> feed = newFeed(Runnable::run, 16, 60_000);
+        feed.poll();
+        assertThat(fetches).hasValue(0);
+
+        RecordingEmitter client = subscribe(feed);
+        feed.poll();
+        feed.poll();
+
+        assertThat(fetches).hasValue(1);
+        assertThat(client.eventNames()).containsExactly("heartbeat", "heartbeat");
+    }
+
+    @Test
+    void failedPollKeepsThePreviousSnapshot() {
+        LiveFeed<Item> feed = newFeed(Runnable::run, 16, 0);
+        subscribe(feed);
+        upstream.set(List.of(new Item(1, "a")));
+        feed.poll();
+
+        upstream.set(null);
+        feed.poll();
+        upstream.set(List.of(new Item(1, "a")));
+        feed.poll();
+
+        RecordingEmitter late = subscribe(feed);
+        assertThat(late.eventNames()).containsExactly("snapshot:1");
+    }
+
+    @Test
+    void lateSubscriberGetsSnapshotThenOnlyChanges() throws Exception {
+        LiveFeed<Item> feed = newFeed(Runnable::run, 16, 0);
+        subscribe(feed);
+        upstream.set(List.of(new Item(1, "a")));
+        feed.poll();
+
+        RecordingEmitter late = subscribe(feed);
+        upstream.set(List.of(new Item(1, "a"), new Item(2, "b")));
+        feed.poll();
+
+        assertThat(late.eventNames()).containsExactly("snapshot:1", "changes:2");
+        assertThat(late.data().get(0)).hasSize(1);
+    }
+
+    @Test
+    void subscriberJoiningDuringPollGetsOldSnapshotThenTheChange() {
+        List<RecordingEmitter> joined = new ArrayList<>();
+        AtomicReference<LiveFeed<Item>> feedRef = new AtomicReference<>();
+        LiveFeed<Item> feed = new LiveFeed<>("items", () -> {
+            if (fetches.incrementAndGet() == 2) {
+                joined.add(subscribe(feedRef.get()));
+            }
+            return upstream.get();
+        }, Item::id, objectMapper, Runnable::run, 16, 0);
+        feedRef.set(feed);
+        subscribe(feed);
+        upstream.set(List.of(new Item(1, "a")));
+        feed.poll();
+
+        upstream.set(List.of(new Item(1, "A")));
+        feed.poll();
+
+        assertThat(joined.get(0).eventNames()).containsExactly("snapshot:1", "changes:2");
+    }
+
+    @Test
+    void concurrentSubscribersSeeEveryVersionExactlyOnceInOrder() throws Exception {
+        LiveFeed<Item> feed = newFeed(Runnable::run, 10_000, 0);
+        subscribe(feed);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread poller = new Thread(() -> {
+            int version = 0;
+            while (running.get()) {
+                upstream.set(List.of(new Item(1, "v" + version++)));
+                feed.poll();
+            }
+        });
+        poller.start();
+
+        List<RecordingEmitter> clients = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            clients.add(subscribe(feed));
+        }
+        running.set(false);
+        poller.join();
+
+        for (RecordingEmitter client : clients) {
+            List<String> events = client.eventNames();
+            long expected = -1;
+            for (String event : events) {
+                String[] parts = event.split(":");
+                long version = Long.parseLong(parts[1]);
+                if (expected == -1) {
+                    expected = version;
+                } else {
+                    assertThat(parts[0]).as("events %s", events).isEqualTo("changes");
+                    assertThat(version).as("events %s", events).isEqualTo(expected);
+                }
+                expected++;
+            }
+        }
+    }
+
+    @Test
+    void slowSubscriberIsEvictedWhenItsBufferOverflows() {
+        List<Runnable> neverRun = new ArrayList<>();
+        LiveFeed<Item> feed = newFeed(neverRun::add, 2, 0);
+        RecordingEmitter slow = subscribe(feed);
+
+        for (int i = 0; i < 3; i++) {
+            upstream.set(List.of(new Item(1, "v" + i)));
+            feed.poll();
+        }
+
+        assertThat(feed.getSubscriberCount()).isZero();
+        assertThat(slow.completed).isTrue();
+
+        feed.poll();
+        assertThat(fetches).hasValue(3);
+    }
+
+    private LiveFeed<Item> newFeed(Executor deliveryExecutor, int bufferSize, long intervalMillis) {
+        return new LiveFeed<>("items", () -> {
+            fetches.incrementAndGet();
+            List<Item> items = upstream.get();
+            if (items == null) {
+                throw new IllegalStateException("upstream down");
+            }
+            return items;
+        }, Item::id, objectMapper, deliveryExecutor, bufferSize, intervalMillis);
+    }
+
+    private static RecordingEmitter subscribe(LiveFeed<Item> feed) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        feed.subscribe(emitter);
+        return emitter;
+    }
+
+    private static List<Integer> ids(JsonNode items) {
+        List<Integer> ids = new ArrayList<>();
+        items.forEach(item -> ids.add(item.get("id").asInt()));
+        return ids;
+    }
+
+    record Item(int id, String title) {
+    }
+
+    /**
+     * Keeps every event instead of writing it to a response
+     */
+    static class RecordingEmitter extends SseEmitter {
+
+        private static final Pattern EVENT = Pattern.compile("event:(\\w+)\\nid:(\\d+)\\ndata:(.*)\\n\\n",
+                Pattern.DOTALL);
+
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> eventNames() {
+            List<String> names = new ArrayList<>();
+            for (String event : sent) {
+                Matcher matcher = EVENT.matcher(event);
+                names.add(matcher.matches() ? matcher.group(1) + ":" + matcher.group(2) : "heartbeat");
+            }
+            return names;
+        }
+
+        List<JsonNode> data() throws Exception {
+            List<JsonNode> data = new ArrayList<>();
+            for (String event : sent) {
+                Matcher matcher = EVENT.matcher(event);
+                if (matcher.matches()) {
+                    data.add(new ObjectMapper().readTree(matcher.group(3)));
+                }
+            }
+            return data;
+        }
+
+        JsonNode lastData() throws Exception {
+            List<JsonNode> data = data();
+            return data.get(data.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.globaltrend.api.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The compact GitHub models must serialize back to exactly the JSON they
+ * were read from
+ */
+class GitHubModelJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final String USER_DERIVED_URLS = "{\"id\":583231,\"login\":\"octocat\","
+            + "\"avatar_url\":\"https://avatars.githubusercontent.com/u/583231?v=4\","
+            + "\"html_url\":\"https://github.com/octocat\",\"name\":\"The Octocat\",\"company\":\"@github\","
+            + "\"blog\":\"https://github.blog\",\"location\":\"San Francisco\",\"email\":\"octocat@github.com\","
+            + "\"bio\":\"Mascot\",\"public_repos\":8,\"public_gists\":8,\"followers\":17000,\"following\":9,"
+            + "\"created_at\":\"2011-01-25T18:44:36Z\",\"updated_at\":\"2024-02-22T12:36:05.123Z\"}";
+
+    private static final String USER_OTHER_URLS = "{\"id\":1,\"login\":\"mojombo\","
+            + "\"avatar_url\":\"https://example.com/avatar.png\",\"html_url\":\"https://example.com/mojombo\","
+            + "\"name\":null,\"company\":null,\"blog\":\"\",\"location\":null,\"email\":null,\"bio\":null,"
+            + "\"public_repos\":0,\"public_gists\":0,\"followers\":0,\"following\":0,"
+            + "\"created_at\":\"2007-10-20T05:24:19+02:00\",\"updated_at\":\"yesterday\"}";
+
+    private static final String USER_ALL_NULL = "{\"id\":null,\"login\":null,\"avatar_url\":null,"
+            + "\"html_url\":null,\"name\":null,\"company\":null,\"blog\":null,\"location\":null,\"email\":null,"
+            + "\"bio\":null,\"public_repos\":null,\"public_gists\":null,\"followers\":null,\"following\":null,"
+            + "\"created_at\":null,\"updated_at\":null}";
+
+    private static final String REPO_DERIVED_URLS = "{\"id\":1296269,\"name\":\"Hello-World\","
+            + "\"full_name\":\"octocat/Hello-World\",\"description\":\"My first repo\","
+            + "\"html_url\":\"https://github.com/octocat/Hello-World\","
+            + "\"clone_url\":\"https://github.com/octocat/Hello-World.git\",\"language\":\"Java\","
+            + "\"stargazers_count\":80,\"watchers_count\":80,\"forks_count\":9,\"open_issues_count\":0,"
+            + "\"default_branch\":\"main\",\"created_at\":\"2011-01-26T19:01:12Z\","
+            + "\"updated_at\":\"2011-01-26T19:14:43.5Z\",\"pushed_at\":\"2011-01-26T19:06:43Z\","
+            + "\"fork\":false,\"private\":true}";
+
+    private static final String REPO_OTHER_URLS = "{\"id\":2,\"name\":\"mirror\",\"full_name\":\"octocat/mirror\","
+            + "\"description\":null,\"html_url\":\"https://ghe.example.com/octocat/mirror\","
+            + "\"clone_url\":\"git@github.com:octocat/mirror.git\",\"language\":null,"
+            + "\"stargazers_count\":0,\"watchers_count\":0,\"forks_count\":0,\"open_issues_count\":3,"
+            + "\"default_branch\":\"master\",\"created_at\":\"2011-01-26T19:01:12.000Z\","
+            + "\"updated_at\":\"2011-01-26\",\"pushed_at\":\"not a date\",\"fork\":true,\"private\":false}";
+
+    private static final String REPO_ALL_NULL = "{\"id\":null,\"name\":null,\"full_name\":null,"
+            + "\"description\":null,\"html_url\":null,\"clone_url\":null,\"language\":null,"
+            + "\"stargazers_count\":null,\"watchers_count\":null,\"forks_count\":null,\"open_issues_count\":null,"
+            + "\"default_branch\":null,\"created_at\":null,\"updated_at\":null,\"pushed_at\":null,"
+            + "\"fork\":null,\"private\":null}";
+
+    @ParameterizedTest
+    @ValueSource(strings = {USER_DERIVED_URLS, USER_OTHER_URLS, USER_ALL_NULL})
+    void userJsonRoundTripsUnchanged(String json) throws Exception {
+        GitHubUser user = objectMapper.readValue(json, GitHubUser.class);
+
+        assertThat(objectMapper.writeValueAsString(user)).isEqualTo(json);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {REPO_DERIVED_URLS, REPO_OTHER_URLS, REPO_ALL_NULL})
+    void repositoryJsonRoundTripsUnchanged(String json) throws Exception {
+        GitHubRepository repository = objectMapper.readValue(json, GitHubRepository.class);
+
+        assertThat(objectMapper.writeValueAsString(repository)).isEqualTo(json);
+    }
+
+    @Test
+    void derivedUrlsFollowLaterIdAndNameChanges() {
+        GitHubUser user = new GitHubUser();
+        user.setId(1L);
+        user.setLogin("a");
+        user.setAvatarUrl("https://avatars.githubusercontent.com/u/1?v=4");
+        user.setHtmlUrl("https://example.com/a");
+
+        user.setId(2L);
+        user.setLogin("b");
+
+        assertThat(user.getAvatarUrl()).isEqualTo("https://avatars.githubusercontent.com/u/1?v=4");
+        assertThat(user.getHtmlUrl()).isEqualTo("https://example.com/a");
+    }
+
+    @Test
+    void equalJsonGivesEqualModels() throws Exception {
+        assertThat(objectMapper.readValue(USER_OTHER_URLS, GitHubUser.class))
+                .isEqualTo(objectMapper.readValue(USER_OTHER_URLS, GitHubUser.class));
+        assertThat(objectMapper.readValue(REPO_DERIVED_URLS, GitHubRepository.class))
+                .isEqualTo(objectMapper.readValue(REPO_DERIVED_URLS, GitHubRepository.class));
+    }
+
+    @Test
+    void toStringShowsPublicValues() throws Exception {
+        String user = objectMapper.readValue(USER_DERIVED_URLS, GitHubUser.class).toString();
+        String repository = objectMapper.readValue(REPO_OTHER_URLS, GitHubRepository.class).toString();
+
+        assertThat(user)
+                .contains("id=583231", "avatarUrl=https://avatars.githubusercontent.com/u/583231?v=4",
+                        "createdAt=2011-01-25T18:44:36Z")
+                .doesNotContain("Millis", "Value", "flags", String.valueOf(Long.MIN_VALUE));
+        assertThat(repository)
+                .contains("description=null", "pushedAt=not a date", "fork=true", "isPrivate=false")
+                .doesNotContain("Millis", "Value", "Raw", "flags", String.valueOf(Integer.MIN_VALUE));
+    }
+}
@@ -0,0 +1,176 @@
+package com.globaltrend.api.ratelimit;
+
+import com.globaltrend.api.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Rate limit interceptor in front of a stub controller. Limits refill far
+ * slower than the test runs: IPs get 3 requests, issued keys 2.
+ */
+class RateLimitInterceptorTest {
+
+    private RateLimitProperties properties;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setDefaultIp(new RateLimitProperties.Limit(0.01, 3));
+        properties.setDefaultApiKey(new RateLimitProperties.Limit(0.01, 2));
+        properties.setApiKeys(Set.of("issued-key"));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new StubController())
+                .addInterceptors(new RateLimitInterceptor(new RateLimiter(properties), properties))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void exhaustedIpGets429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform(request("10.0.0.1", null)).andExpect(status().isOk());
+        }
+
+        ResultActions denied = perform(request("10.0.0.1", null))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value(429));
+        long retryAfter = Long.parseLong(denied.andReturn().getResponse().getHeader("Retry-After"));
+        assertThat(retryAfter).isBetween(1L, 100L);
+
+        perform(request("10.0.0.2", null)).andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownKeyOnlyGetsTheIpLimit() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform(request("10.0.0.1", "made-up-key")).andExpect(status().isOk());
+        }
+
+        perform(request("10.0.0.1", "made-up-key")).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void issuedKeyIsLimitedAcrossAllIps() throws Exception {
+        perform(request("10.0.0.1", "issued-key")).andExpect(status().isOk());
+        perform(request("10.0.0.2", "issued-key")).andExpect(status().isOk());
+
+        perform(request("10.0.0.3", "issued-key"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+        perform(request("10.0.0.3", null)).andExpect(status().isOk());
+    }
+
+    @Test
+    void ipLimitIsCheckedBeforeTheKeyAndDeniedRequestsKeepKeyTokens() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            perform(request("10.0.0.1", null)).andExpect(status().isOk());
+        }
+
+        for (int i = 0; i < 5; i++) {
+            perform(request("10.0.0.1", "issued-key")).andExpect(status().isTooManyRequests());
+        }
+
+        perform(request("10.0.0.2", "issued-key")).andExpect(status().isOk());
+        perform(request("10.0.0.3", "issued-key")).andExpect(status().isOk());
+    }
+
+    @Test
+    void configuredRouteHasItsOwnLimitAndBuckets() throws Exception {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern("/api/stub/other");
+        route.setIp(new RateLimitProperties.Limit(0.01, 1));
+        properties.getRoutes().add(route);
+        for (int i = 0; i < 3; i++) {
+            perform(request("10.0.0.1", null)).andExpect(status().isOk());
+        }
+
+        perform(get("/api/stub/other").with(remoteAddr("10.0.0.1"))).andExpect(status().isOk());
+        perform(get("/api/stub/other").with(remoteAddr("10.0.0.1"))).andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void disabledLimiterLetsEverythingThrough() throws Exception {
+        properties.setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            perform(request("10.0.0.1", null)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void nonPositiveRateFailsStartup() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+                .withUserConfiguration(PropertiesConfig.class)
+                .withPropertyValues("api.rate-limit.default-ip.requests-per-second=0.5")
+                .run(context -> assertThat(context).hasNotFailed());
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+                .withUserConfiguration(PropertiesConfig.class)
+                .withPropertyValues("api.rate-limit.default-ip.requests-per-second=0")
+                .run(context -> assertThat(context).hasFailed());
+
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+                .withUserConfiguration(PropertiesConfig.class)
+                .withPropertyValues("api.rate-limit.routes[0].pattern=/api/**",
+                        "api.rate-limit.routes[0].ip.requests-per-second=-5")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return mockMvc.perform(request);
+    }
+
+    private static MockHttpServletRequestBuilder request(String ip, String apiKey) {
+        MockHttpServletRequestBuilder request = get("/api/stub/octocat").with(remoteAddr(ip));
+        return apiKey != null ? request.header("X-API-Key", apiKey) : request;
+    }
+
+    private static RequestPostProcessor remoteAddr(String ip) {
+        return request -> {
+            request.setRemoteAddr(ip);
+            return request;
+        };
+    }
+
+    @RestController
+    static class StubController {
+
+        @GetMapping("/api/stub/{name}")
+        String get(@PathVariable String name) {
+            return name;
+        }
+
+        @GetMapping("/api/stub/other")
+        String other() {
+            return "other";
+        }
+    }
+
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfig {
+    }
+}
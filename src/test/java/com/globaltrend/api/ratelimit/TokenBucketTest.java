@@ -0,0 +1,115 @@
+package com.globaltrend.api.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * GCRA token bucket driven by explicit clock values
+ */
+class TokenBucketTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void grantsBurstThenReportsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(10, 5), 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+
+        assertThat(bucket.tryAcquire(0)).isEqualTo(100 * MILLIS);
+        assertThat(bucket.tryAcquire(40 * MILLIS)).isEqualTo(60 * MILLIS);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(10, 5), 0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        for (long t = 100; t <= 1000; t += 100) {
+            assertThat(bucket.tryAcquire(t * MILLIS)).isZero();
+            assertThat(bucket.tryAcquire(t * MILLIS)).isPositive();
+        }
+    }
+
+    @Test
+    void deniedAttemptsDoNotConsumeTokens() {
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(10, 1), 0);
+        bucket.tryAcquire(0);
+        for (int i = 0; i < 100; i++) {
+            bucket.tryAcquire(50 * MILLIS);
+        }
+
+        assertThat(bucket.tryAcquire(100 * MILLIS)).isZero();
+    }
+
+    @Test
+    void isIdleOnceFullyRefilled() {
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(10, 5), 0);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(0);
+        }
+
+        assertThat(bucket.isIdle(200 * MILLIS)).isFalse();
+        assertThat(bucket.isIdle(300 * MILLIS)).isTrue();
+    }
+
+    @Test
+    void zeroBurstStillAllowsOneRequest() {
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(1, 0), 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isPositive();
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0, -1, Double.NaN})
+    void rejectsNonPositiveRate(double requestsPerSecond) {
+        assertThatThrownBy(() -> new TokenBucket(new RateLimitProperties.Limit(requestsPerSecond, 10), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedTheBurst() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(new RateLimitProperties.Limit(1, 100), 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < 1000; j++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(granted).hasValue(100);
+    }
+}
@@ -0,0 +1,223 @@
+package com.globaltrend.api.recording;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exchanges recorded through {@link RecordingExchangeFilter} in front of a
+ * stub upstream and replayed through {@link ReplayExchangeFunction}
+ */
+class RecordingRoundTripTest {
+
+    private static final String NON_ASCII = "Grüße, 日本語, emoji 😀, nul \u0000 end";
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private byte[] largeBody;
+    private final AtomicInteger counterCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("upstream" + RecordingFormat.FILE_SUFFIX);
+        largeBody = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(largeBody);
+    }
+
+    @Test
+    void replaysStatusHeadersAndBodiesAsRecorded() {
+        record(client -> {
+            assertThat(body(client, "/empty")).isEmpty();
+            assertThat(body(client, "/large?page=2&per_page=100")).isEqualTo(largeBody);
+            assertThat(body(client, "/headers")).isEqualTo("ok".getBytes(StandardCharsets.UTF_8));
+            assertThat(body(client, "/missing")).isEqualTo("{}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        ExchangeFunction replay = new ReplayExchangeFunction(file, false);
+
+        ClientResponse empty = exchange(replay, "/empty");
+        assertThat(empty.statusCode().value()).isEqualTo(204);
+        assertThat(bytes(empty)).isEmpty();
+
+        ClientResponse large = exchange(replay, "/large?page=2&per_page=100");
+        assertThat(bytes(large)).isEqualTo(largeBody);
+
+        ClientResponse headers = exchange(replay, "/headers");
+        assertThat(headers.headers().asHttpHeaders().get("X-Greeting")).containsExactly(NON_ASCII, "second");
+        assertThat(headers.headers().asHttpHeaders().getFirst("X-Empty")).isEmpty();
+        assertThat(headers.headers().asHttpHeaders().containsKey("Transfer-Encoding")).isFalse();
+
+        assertThat(exchange(replay, "/missing").statusCode().value()).isEqualTo(404);
+    }
+
+    @Test
+    void repeatedRequestsReplayInRecordedOrder() {
+        record(client -> {
+            for (int i = 0; i < 3; i++) {
+                body(client, "/counter");
+            }
+        });
+
+        ExchangeFunction replay = new ReplayExchangeFunction(file, false);
+
+        List<String> replayed = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            replayed.add(new String(bytes(exchange(replay, "/counter")), StandardCharsets.UTF_8));
+        }
+        assertThat(replayed).containsExactly("1", "2", "3", "1");
+    }
+
+    @Test
+    void unrecordedRequestFails() {
+        record(client -> body(client, "/empty"));
+
+        ExchangeFunction replay = new ReplayExchangeFunction(file, false);
+
+        assertThatThrownBy(() -> exchange(replay, "/empty?page=2"))
+                .hasMessageContaining("No recorded exchange for GET /empty?page=2");
+    }
+
+    @Test
+    void truncatedTrailingEntryIsIgnored() throws Exception {
+        record(client -> {
+            body(client, "/headers");
+            body(client, "/large");
+        });
+        byte[] recorded = Files.readAllBytes(file);
+
+        for (int cut : new int[] {1, largeBody.length, largeBody.length + 12}) {
+            Path truncated = directory.resolve("truncated-" + cut + RecordingFormat.FILE_SUFFIX);
+            Files.write(truncated, Arrays.copyOf(recorded, recorded.length - cut));
+
+            ExchangeFunction replay = new ReplayExchangeFunction(truncated, false);
+
+            assertThat(bytes(exchange(replay, "/headers"))).isEqualTo("ok".getBytes(StandardCharsets.UTF_8));
+            assertThatThrownBy(() -> exchange(replay, "/large")).hasMessageContaining("No recorded exchange");
+        }
+    }
+
+    @Test
+    void entryThatCannotBeEncodedLeavesNoPartialEntry() {
+        ExchangeRecorder recorder = new ExchangeRecorder(file);
+        HttpHeaders oversized = new HttpHeaders();
+        oversized.add("X-Oversized", "x".repeat(70_000));
+        recorder.record("GET", "/oversized", 200, oversized, new byte[] {1}, 0);
+        recorder.record("GET", "/after", 200, new HttpHeaders(), "after".getBytes(StandardCharsets.UTF_8), 0);
+        close(recorder);
+
+        ExchangeFunction replay = new ReplayExchangeFunction(file, false);
+
+        assertThat(bytes(exchange(replay, "/after"))).isEqualTo("after".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> exchange(replay, "/oversized")).hasMessageContaining("No recorded exchange");
+    }
+
+    @Test
+    void rejectsFilesThatAreNotRecordings() throws Exception {
+        Files.write(file, "not a recording".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> new ReplayExchangeFunction(file, false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Not a recording file");
+    }
+
+    private void record(java.util.function.Consumer<WebClient> calls) {
+        ExchangeRecorder recorder = new ExchangeRecorder(file);
+        WebClient client = WebClient.builder()
+                .baseUrl("http://upstream.test")
+                .exchangeFunction(this::upstream)
+                .filter(new RecordingExchangeFilter(recorder))
+                .build();
+        calls.accept(client);
+        close(recorder);
+    }
+
+    /**
+     * Stub upstream; the large body arrives in many buffers like it would off the network
+     */
+    private Mono<ClientResponse> upstream(ClientRequest request) {
+        String path = request.url().getPath();
+        ClientResponse.Builder response = switch (path) {
+            case "/empty" -> ClientResponse.create(HttpStatus.NO_CONTENT);
+            case "/large" -> ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                    .body(chunks(largeBody, 8192));
+            case "/headers" -> ClientResponse.create(HttpStatus.OK)
+                    .header("X-Greeting", NON_ASCII, "second")
+                    .header("X-Empty", "")
+                    .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                    .body("ok");
+            case "/counter" -> ClientResponse.create(HttpStatus.OK)
+                    .body(Integer.toString(counterCalls.incrementAndGet()));
+            default -> ClientResponse.create(HttpStatusCode.valueOf(404)).body("{}");
+        };
+        return Mono.just(response.build());
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] body, int chunkSize) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += chunkSize) {
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(body, offset, Math.min(body.length, offset + chunkSize))));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+    private static byte[] body(WebClient client, String uri) {
+        return client.get().uri(uri).exchangeToMono(response -> Mono.just(bytes(response))).block();
+    }
+
+    private static ClientResponse exchange(ExchangeFunction function, String uri) {
+        ClientRequest request = ClientRequest.create(org.springframework.http.HttpMethod.GET,
+                java.net.URI.create("http://replay.test" + uri)).build();
+        return function.exchange(request).block();
+    }
+
+    /**
+     * Whole body regardless of size, unlike the codecs
+     */
+    private static byte[] bytes(ClientResponse response) {
+        DataBuffer joined = DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers())).block();
+        if (joined == null) {
+            return new byte[0];
+        }
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        DataBufferUtils.release(joined);
+        return bytes;
+    }
+
+    private static void close(ExchangeRecorder recorder) {
+        try {
+            recorder.close();
+        } catch (java.io.IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.globaltrend.api.service;
+
+import com.globaltrend.api.cache.NegativeCache;
+import com.globaltrend.api.cache.RangeSegmentCache;
+import com.globaltrend.api.exception.ApiIntegrationException;
+import com.globaltrend.api.model.CursorPage;
+import com.globaltrend.api.model.GitHubUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Conditional polling of the GitHub users listing against a stubbed upstream
+ */
+class GitHubApiServicePollTest {
+
+    private static final String PAGE_V1 = "[{\"id\":1,\"login\":\"a\"},{\"id\":2,\"login\":\"b\"}]";
+    private static final String PAGE_V2 = "[{\"id\":1,\"login\":\"a\"},{\"id\":3,\"login\":\"c\"}]";
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private Function<ClientRequest, ClientResponse> upstream;
+
+    private final RangeSegmentCache<GitHubUser> userSegments =
+            new RangeSegmentCache<>(GitHubUser::getId, Duration.ofMinutes(10).toNanos(), 1000, 100);
+
+    private final GitHubApiService service = new GitHubApiService(
+            WebClient.builder()
+                    .baseUrl("https://api.github.test")
+                    .exchangeFunction(request -> {
+                        requests.add(request);
+                        return Mono.just(upstream.apply(request));
+                    })
+                    .build(),
+            new NegativeCache(Duration.ofMinutes(1), 100),
+            userSegments,
+            new ConcurrentMapCacheManager(),
+            1000);
+
+    @Test
+    void sendsStoredEtagAndReusesPageOnNotModified() {
+        upstream = request -> request.headers().getIfNoneMatch().isEmpty()
+                ? ok(PAGE_V1, "\"v1\"")
+                : ClientResponse.create(HttpStatus.NOT_MODIFIED).build();
+
+        CursorPage<GitHubUser> first = service.pollUsers(2);
+        CursorPage<GitHubUser> second = service.pollUsers(2);
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).headers().getIfNoneMatch()).isEmpty();
+        assertThat(requests.get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(second.getItems()).isEqualTo(first.getItems());
+        assertThat(logins(second)).containsExactly("a", "b");
+    }
+
+    @Test
+    void changedPageReplacesEtagAndRefreshesSegments() {
+        upstream = request -> ok(PAGE_V1, "\"v1\"");
+        service.pollUsers(2);
+
+        upstream = request -> ok(PAGE_V2, "\"v2\"");
+        CursorPage<GitHubUser> changed = service.pollUsers(2);
+        upstream = request -> ClientResponse.create(HttpStatus.NOT_MODIFIED).build();
+        service.pollUsers(2);
+
+        assertThat(logins(changed)).containsExactly("a", "c");
+        assertThat(requests.get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(requests.get(2).headers().getIfNoneMatch()).containsExactly("\"v2\"");
+        assertThat(logins(service.getUsers(0, 2))).containsExactly("a", "c");
+        assertThat(requests).hasSize(3);
+    }
+
+    @Test
+    void etagIsNotReusedForAnotherPageSize() {
+        upstream = request -> ok(PAGE_V1, "\"v1\"");
+        service.pollUsers(2);
+
+        service.pollUsers(5);
+
+        assertThat(requests.get(1).headers().getIfNoneMatch()).isEmpty();
+    }
+
+    @Test
+    void upstreamErrorIsReported() {
+        upstream = request -> ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build();
+
+        assertThatThrownBy(() -> service.pollUsers(2)).isInstanceOf(ApiIntegrationException.class);
+    }
+
+    private static ClientResponse ok(String body, String etag) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, etag)
+                .body(body)
+                .build();
+    }
+
+    private static List<String> logins(CursorPage<GitHubUser> page) {
+        return page.getItems().stream().map(GitHubUser::getLogin).toList();
+    }
+}
@@ -0,0 +1,216 @@
+package com.globaltrend.api.sync;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.globaltrend.api.exception.ServiceUnavailableException;
+import com.globaltrend.api.model.Post;
+import com.globaltrend.api.model.User;
+import com.globaltrend.api.service.JsonPlaceholderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sync engine against a stubbed upstream serving whatever JSON the test put
+ * under /posts and /users
+ */
+class JsonPlaceholderSyncEngineTest {
+
+    private static final String POSTS = "[{\"id\":1,\"userId\":1,\"title\":\"one\",\"body\":\"first\"},"
+            + "{\"id\":2,\"userId\":1,\"title\":\"two\",\"body\":\"second\"},"
+            + "{\"id\":3,\"userId\":2,\"title\":\"three\",\"body\":\"third\"}]";
+
+    private static final String USERS = "[{\"id\":1,\"name\":\"Leanne\",\"username\":\"Bret\","
+            + "\"address\":{\"city\":\"Gwenborough\",\"geo\":{\"lat\":\"-37.3159\",\"lng\":\"81.1496\"}}},"
+            + "{\"id\":2,\"name\":\"Ervin\",\"username\":\"Antonette\"}]";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, String> upstream = new HashMap<>();
+    private final Map<String, HttpStatus> failures = new HashMap<>();
+
+    private JsonPlaceholderSyncEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        upstream.put("/posts", POSTS);
+        upstream.put("/users", USERS);
+
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://jsonplaceholder.test")
+                .exchangeFunction(request -> {
+                    String path = request.url().getPath();
+                    HttpStatus failure = failures.get(path);
+                    if (failure != null) {
+                        return Mono.just(ClientResponse.create(failure).build());
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(upstream.get(path))
+                            .build());
+                })
+                .build();
+        engine = new JsonPlaceholderSyncEngine(webClient, objectMapper, 1000, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void firstSyncPublishesVersionOne() {
+        engine.sync();
+
+        JsonPlaceholderSnapshot snapshot = engine.getSnapshot();
+        assertThat(snapshot.getVersion()).isEqualTo(1);
+        assertThat(snapshot.getPosts()).extracting(Post::getId).containsExactly(1L, 2L, 3L);
+        assertThat(snapshot.getPostsByUserId(1L)).extracting(Post::getTitle).containsExactly("one", "two");
+        assertThat(snapshot.getUser(2L).getUsername()).isEqualTo("Antonette");
+        assertThat(engine.getStatus())
+                .containsEntry("ready", true)
+                .containsEntry("lastPostsDelta", new SyncDelta(3, 0, 0))
+                .containsEntry("lastUsersDelta", new SyncDelta(2, 0, 0));
+    }
+
+    @Test
+    void unchangedUpstreamKeepsTheSnapshot() {
+        engine.sync();
+        JsonPlaceholderSnapshot first = engine.getSnapshot();
+
+        engine.sync();
+
+        assertThat(engine.getSnapshot()).isSameAs(first);
+        assertThat(engine.getStatus())
+                .containsEntry("version", 1L)
+                .containsEntry("syncs", 2L)
+                .containsEntry("lastPostsDelta", new SyncDelta(0, 0, 0))
+                .containsEntry("lastUsersDelta", new SyncDelta(0, 0, 0));
+    }
+
+    @Test
+    void addedUpdatedAndRemovedRecordsPublishANewSnapshot() {
+        engine.sync();
+        JsonPlaceholderSnapshot first = engine.getSnapshot();
+        upstream.put("/posts", "[{\"id\":1,\"userId\":1,\"title\":\"one\",\"body\":\"first\"},"
+                + "{\"id\":2,\"userId\":1,\"title\":\"two\",\"body\":\"second, edited\"},"
+                + "{\"id\":4,\"userId\":2,\"title\":\"four\",\"body\":\"fourth\"}]");
+
+        engine.sync();
+
+        JsonPlaceholderSnapshot second = engine.getSnapshot();
+        assertThat(second.getVersion()).isEqualTo(2);
+        assertThat(second.getPosts()).extracting(Post::getId).containsExactly(1L, 2L, 4L);
+        assertThat(second.getPost(2L).getBody()).isEqualTo("second, edited");
+        assertThat(second.getPost(3L)).isNull();
+        assertThat(second.getPostsByUserId(2L)).extracting(Post::getId).containsExactly(4L);
+        assertThat(engine.getStatus())
+                .containsEntry("lastPostsDelta", new SyncDelta(1, 1, 1))
+                .containsEntry("lastUsersDelta", new SyncDelta(0, 0, 0));
+
+        // Unchanged records keep their instance; the old snapshot is untouched
+        assertThat(second.getPost(1L)).isSameAs(first.getPost(1L));
+        assertThat(second.getUser(1L)).isSameAs(first.getUser(1L));
+        assertThat(first.getPost(2L).getBody()).isEqualTo("second");
+        assertThat(first.getPosts()).extracting(Post::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void nestedFieldChangeIsDetectedByContentHash() {
+        engine.sync();
+        upstream.put("/users", USERS.replace("-37.3159", "-37.3160"));
+
+        engine.sync();
+
+        assertThat(engine.getSnapshot().getVersion()).isEqualTo(2);
+        assertThat(engine.getSnapshot().getUser(1L).getAddress().getGeo().getLat()).isEqualTo("-37.3160");
+        assertThat(engine.getStatus()).containsEntry("lastUsersDelta", new SyncDelta(0, 1, 0));
+    }
+
+    @Test
+    void reformattedButEqualJsonIsNotAChange() {
+        engine.sync();
+        upstream.put("/posts", POSTS.replace(",", " ,\n  ").replace(":", " : "));
+
+        engine.sync();
+
+        assertThat(engine.getSnapshot().getVersion()).isEqualTo(1);
+        assertThat(engine.getStatus()).containsEntry("lastPostsDelta", new SyncDelta(0, 0, 0));
+    }
+
+    @Test
+    void upstreamFailureKeepsThePreviousSnapshot() {
+        engine.sync();
+        JsonPlaceholderSnapshot first = engine.getSnapshot();
+
+        failures.put("/users", HttpStatus.INTERNAL_SERVER_ERROR);
+        upstream.put("/posts", "[{\"id\":9,\"userId\":1,\"title\":\"nine\",\"body\":\"ninth\"}]");
+        engine.sync();
+        assertThat(engine.getSnapshot()).isSameAs(first);
+
+        failures.clear();
+        upstream.put("/posts", "[]");
+        engine.sync();
+        assertThat(engine.getSnapshot()).isSameAs(first);
+
+        assertThat(engine.getStatus())
+                .containsEntry("version", 1L)
+                .containsEntry("failures", 2L)
+                .containsEntry("consecutiveFailures", 2);
+        assertThat((String) engine.getStatus().get("lastError")).contains("no records for /posts");
+
+        upstream.put("/posts", POSTS);
+        engine.sync();
+        assertThat(engine.getSnapshot()).isSameAs(first);
+        assertThat(engine.getStatus())
+                .containsEntry("consecutiveFailures", 0)
+                .containsEntry("lastError", null);
+    }
+
+    @Test
+    void readsFailWithServiceUnavailableUntilTheFirstSync() {
+        JsonPlaceholderService service = new JsonPlaceholderService(engine, 30_000);
+        failures.put("/posts", HttpStatus.BAD_GATEWAY);
+        engine.sync();
+
+        assertThat(engine.getSnapshot()).isNull();
+        assertThat(engine.getStatus()).containsEntry("ready", false).containsEntry("stale", true);
+        assertThatThrownBy(() -> service.getPosts(null, null))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .satisfies(e -> assertThat(((ServiceUnavailableException) e).getRetryAfterSeconds()).isEqualTo(30));
+
+        failures.clear();
+        engine.sync();
+
+        assertThat(service.getPosts(null, 2)).extracting(Post::getId).containsExactly(1L, 2L);
+        assertThat(service.getUserById(1L)).extracting(User::getName).isEqualTo("Leanne");
+    }
+
+    @Test
+    void recordStoreDiffsByHashAndKeepsUnchangedInstances() throws Exception {
+        RecordStore<Post> store = new RecordStore<>(Post::getId, objectMapper);
+        List<Post> first = List.of(post(1, "a"), post(2, "b"));
+
+        assertThat(store.apply(first)).isEqualTo(new SyncDelta(2, 0, 0));
+        assertThat(store.apply(List.of(post(1, "a"), post(2, "b")))).isEqualTo(new SyncDelta(0, 0, 0));
+        assertThat(store.values()).element(0).isSameAs(first.get(0));
+
+        assertThat(store.apply(List.of(post(2, "B"), post(3, "c")))).isEqualTo(new SyncDelta(1, 1, 1));
+        assertThat(store.values()).extracting(Post::getTitle).containsExactly("B", "c");
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    private static Post post(long id, String title) {
+        Post post = new Post();
+        post.setId(id);
+        post.setUserId(1L);
+        post.setTitle(title);
+        return post;
+    }
+}
@@ -0,0 +1 @@
+// Unfingerprinted script, as a dev build without the static-assets step would serve